@@ -0,0 +1,903 @@
+package com.graphdatabases.arangodb;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDB;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoDatabase;
+import com.arangodb.entity.BaseDocument;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.entity.EdgeDefinition;
+import com.arangodb.model.CollectionPropertiesOptions;
+import com.arangodb.model.HashIndexOptions;
+import com.arangodb.model.SkiplistIndexOptions;
+import com.arangodb.util.ArangoSerializer;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+import com.graphdatabases.arangodb.model.Friend;
+import com.graphdatabases.arangodb.model.Person;
+import com.graphdatabases.benchmark.Direction;
+import com.graphdatabases.benchmark.EdgeModel;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.NodeIndex;
+import com.graphdatabases.benchmark.PreparedQuery;
+import com.graphdatabases.benchmark.WriteMode;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.dataset.EgoNetworkProfiles;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.plan.QueryPlans;
+import com.graphdatabases.benchmark.timing.ServerTimings;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class ArangoDBGraphEngine implements GraphEngine {
+
+    private ArangoDB arangoDB;
+    // every AQL query runs as one transaction, a single server reads its own writes without bookmarks
+    private WriteMode writeMode = new WriteMode(WriteMode.Sync.ASYNC, true, false);
+    private NodeIndex nodeIndex = new NodeIndex(NodeIndex.Structure.HASH, false, NodeIndex.KeyType.STRING);
+    private volatile EdgeModel edgeModel = EdgeModel.DUPLICATED;
+    private volatile boolean wccAvailable = true;
+    private final AtomicLong openCursors = new AtomicLong();
+    private static final String DB_NAME = "social-networks";
+    private static final String GRAPH_NAME = "graph";
+    private static final String EDGE_COLLECTION_NAME = "Friends";
+    private static final String VERTEXT_COLLECTION_NAME = "Persons";
+    private static final String MEMBER_EDGE_COLLECTION_NAME = "Members";
+    private static final String CIRCLE_COLLECTION_NAME = "Circles";
+    private static final long PREGEL_POLL_INTERVAL_MILLIS = 100;
+    private static final int PROFILE_BATCH_SIZE = 1000;
+    private static final int ARANGO_CONFLICT = 1200;
+    private static final int HTTP_BAD_REQUEST = 400;
+
+    @Override
+    public String getName() {
+        return "arangodb";
+    }
+
+    @Override
+    public void open() {
+        Properties properties = new Properties();
+        try {
+            String path = ArangoDBGraphEngine.class.getResource("driver-settings.properties").getPath();
+            FileInputStream in = new FileInputStream(path);
+            properties.load(in);
+            in.close();
+        } catch (Exception e) {
+            System.out.println("Failed to load driver settings.");
+        }
+
+        String host = properties.getProperty("host");
+        Integer port = Integer.parseInt(properties.getProperty("port"));
+        String username = properties.getProperty("username");
+        String password = properties.getProperty("password");
+
+        arangoDB = new ArangoDB.Builder().host(host, port).user(username).password(password).build();
+    }
+
+    @Override
+    public void clean() {
+        ArangoDatabase db = arangoDB.db(DB_NAME);
+        if (db.exists()) {
+            db.drop();
+        }
+    }
+
+    @Override
+    public void createSchema() {
+        arangoDB.createDatabase(DB_NAME);
+
+        Collection<EdgeDefinition> edgeDefinitions = new ArrayList<>();
+        EdgeDefinition edgeDefinition = new EdgeDefinition();
+        edgeDefinition.collection(EDGE_COLLECTION_NAME);
+        edgeDefinition.from(VERTEXT_COLLECTION_NAME).to(VERTEXT_COLLECTION_NAME);
+        edgeDefinitions.add(edgeDefinition);
+        EdgeDefinition memberEdgeDefinition = new EdgeDefinition();
+        memberEdgeDefinition.collection(MEMBER_EDGE_COLLECTION_NAME);
+        memberEdgeDefinition.from(VERTEXT_COLLECTION_NAME).to(CIRCLE_COLLECTION_NAME);
+        edgeDefinitions.add(memberEdgeDefinition);
+
+        arangoDB.db(DB_NAME).createGraph(GRAPH_NAME, edgeDefinitions, null);
+        switch (nodeIndex.getStructure()) {
+            case HASH:
+                arangoDB.db(DB_NAME).collection(VERTEXT_COLLECTION_NAME).ensureHashIndex(Collections.singletonList("nodeId"), new HashIndexOptions().unique(nodeIndex.isUnique()));
+                break;
+            case SORTED:
+                arangoDB.db(DB_NAME).collection(VERTEXT_COLLECTION_NAME).ensureSkiplistIndex(Collections.singletonList("nodeId"), new SkiplistIndexOptions().unique(nodeIndex.isUnique()));
+                break;
+            default:
+                break;
+        }
+        applyWaitForSync();
+    }
+
+    @Override
+    public NodeIndex setNodeIndex(NodeIndex index) {
+        // a skiplist is the sorted index of both storage engines, RocksDB keeps every index in its LSM tree anyway
+        nodeIndex = index.getStructure() == NodeIndex.Structure.DEFAULT ? index.withStructure(NodeIndex.Structure.HASH) : index;
+        if (nodeIndex.getKeyType() == NodeIndex.KeyType.DEFAULT) {
+            nodeIndex = nodeIndex.withKeyType(NodeIndex.KeyType.STRING);
+        }
+
+        return nodeIndex;
+    }
+
+    @Override
+    public EdgeModel setEdgeModel(EdgeModel model) {
+        // every edge is a document of the edge collection, so a lightweight edge is a single one
+        edgeModel = model == EdgeModel.LIGHTWEIGHT ? EdgeModel.SINGLE : model;
+
+        return edgeModel;
+    }
+
+    /**
+     * Follows the Friends edges outbound when each friendship is stored both ways, in any direction when it is stored once.
+     */
+    private String friendDirection() {
+        return edgeModel.isDuplicated() ? "OUTBOUND" : "ANY";
+    }
+
+    /**
+     * Lists the Friends edges from {@code s} to {@code t}, and the reverse one when friendships are stored both ways.
+     */
+    private String friendships(String s, String t) {
+        String edge = String.format("{ _from: %s, _to: %s }", s, t);
+        return edgeModel.isDuplicated() ? String.format("[%s, { _from: %s, _to: %s }]", edge, t, s) : String.format("[%s]", edge);
+    }
+
+    private Object nodeKey(int nodeId) {
+        return nodeIndex.getKeyType() == NodeIndex.KeyType.INTEGER ? (Object) nodeId : String.valueOf(nodeId);
+    }
+
+    @Override
+    public void load(EdgeSource source) {
+        source.forEach((nodeOneId, nodeTwoId) -> {
+            Person personOne = findPersonByNodeId(String.valueOf(nodeOneId));
+            if (personOne == null) {
+                personOne = createPerson(String.valueOf(nodeOneId));
+            }
+
+            Person personTwo = findPersonByNodeId(String.valueOf(nodeTwoId));
+            if (personTwo == null) {
+                personTwo = createPerson(String.valueOf(nodeTwoId));
+            }
+
+            createRelationship(personOne, personTwo);
+        });
+    }
+
+    @Override
+    public void createNodes(int[] nodeIds, int length) {
+        List<Object> rows = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            rows.add(nodeKey(nodeIds[i]));
+        }
+
+        String query = "FOR nodeId IN @nodeIds INSERT { nodeId: nodeId } INTO Persons";
+        update(query, Collections.singletonMap("nodeIds", rows));
+    }
+
+    @Override
+    public void createRelationships(int[] sourceNodeIds, int[] targetNodeIds, int length) {
+        List<Map<String, Object>> rows = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("s", String.valueOf(sourceNodeIds[i]));
+            row.put("t", String.valueOf(targetNodeIds[i]));
+            rows.add(row);
+        }
+
+        String query = "FOR row IN @rows LET s = (FOR p IN Persons FILTER p.nodeId == row.s RETURN p._id)[0] LET t = (FOR p IN Persons FILTER p.nodeId == row.t RETURN p._id)[0] FILTER s != null AND t != null FOR f IN " + friendships("s", "t") + " INSERT f INTO Friends";
+        update(query, Collections.singletonMap("rows", rows));
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        // 1200 is the write-write conflict reported when concurrent queries touch the same documents
+        return e instanceof ArangoDBException && Integer.valueOf(ARANGO_CONFLICT).equals(((ArangoDBException) e).getErrorNum());
+    }
+
+    @Override
+    public WriteMode setWriteMode(WriteMode mode) {
+        writeMode = mode.withTransactional(true).withBookmarks(false);
+        if (arangoDB.db(DB_NAME).exists()) {
+            applyWaitForSync();
+        }
+
+        return writeMode;
+    }
+
+    private void applyWaitForSync() {
+        CollectionPropertiesOptions options = new CollectionPropertiesOptions().waitForSync(writeMode.getSync() == WriteMode.Sync.COMMIT);
+        for (String collection : Arrays.asList(VERTEXT_COLLECTION_NAME, EDGE_COLLECTION_NAME, CIRCLE_COLLECTION_NAME, MEMBER_EDGE_COLLECTION_NAME)) {
+            arangoDB.db(DB_NAME).collection(collection).changeProperties(options);
+        }
+    }
+
+    private Person findPersonByNodeId(String nodeId) {
+        Person person = null;
+
+        String query = "FOR p IN Persons FILTER p.`nodeId` == @nodeId RETURN p";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("nodeId", nodeId);
+        List<Person> results = query(query, vars, Person.class);
+        if (!results.isEmpty()) {
+            person = results.get(0);
+        }
+
+        return person;
+    }
+
+    private Person createPerson(String nodeId) {
+        Person person = new Person(nodeId);
+        arangoDB.db(DB_NAME).graph(GRAPH_NAME).vertexCollection(VERTEXT_COLLECTION_NAME).insertVertex(person);
+
+        return person;
+    }
+
+    private void createRelationship(Person personOne, Person personTwo) {
+        arangoDB.db(DB_NAME).graph(GRAPH_NAME).edgeCollection(EDGE_COLLECTION_NAME).insertEdge(new Friend(personOne.getId(), personTwo.getId()));
+        if (edgeModel.isDuplicated()) {
+            arangoDB.db(DB_NAME).graph(GRAPH_NAME).edgeCollection(EDGE_COLLECTION_NAME).insertEdge(new Friend(personTwo.getId(), personOne.getId()));
+        }
+    }
+
+    @Override
+    public void loadProfiles(EgoNetworkProfiles profiles) {
+        String query = "FOR row IN @rows FOR p IN Persons FILTER p.nodeId == row.nodeId UPDATE p WITH {features: row.features} IN Persons";
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<Integer, int[]> entry : profiles.getFeatures().entrySet()) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("nodeId", String.valueOf(entry.getKey()));
+            row.put("features", Arrays.stream(entry.getValue()).boxed().collect(Collectors.toList()));
+            rows.add(row);
+
+            if (rows.size() == PROFILE_BATCH_SIZE) {
+                update(query, Collections.singletonMap("rows", rows));
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            update(query, Collections.singletonMap("rows", rows));
+        }
+
+        for (Map.Entry<String, int[]> entry : profiles.getCircles().entrySet()) {
+            List<String> members = new ArrayList<>();
+            for (int memberId : entry.getValue()) {
+                members.add(String.valueOf(memberId));
+            }
+
+            String circleQuery = "INSERT {circleId: @circleId} INTO Circles LET circle = NEW FOR p IN Persons FILTER p.nodeId IN @members INSERT {_from: p._id, _to: circle._id} INTO Members";
+            Map<String, Object> vars = new HashMap<>();
+            vars.put("circleId", entry.getKey());
+            vars.put("members", members);
+            update(circleQuery, vars);
+        }
+    }
+
+    @Override
+    public void createPropertyIndexes() {
+        arangoDB.db(DB_NAME).collection(VERTEXT_COLLECTION_NAME).ensureHashIndex(Collections.singletonList("features[*]"), new HashIndexOptions().unique(false));
+        arangoDB.db(DB_NAME).collection(CIRCLE_COLLECTION_NAME).ensureHashIndex(Collections.singletonList("circleId"), new HashIndexOptions().unique(false));
+    }
+
+    @Override
+    public boolean findNode(int nodeId) {
+        String query = "FOR p IN Persons FILTER p.`nodeId` == @nodeId LIMIT 1 RETURN p._key";
+        return !query(query, Collections.singletonMap("nodeId", nodeKey(nodeId)), String.class).isEmpty();
+    }
+
+    @Override
+    public int countNodesInRange(int fromNodeId, int toNodeId) {
+        String query = "FOR p IN Persons FILTER p.nodeId >= @fromNodeId AND p.nodeId < @toNodeId COLLECT WITH COUNT INTO counter RETURN counter";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("fromNodeId", nodeKey(fromNodeId));
+        vars.put("toNodeId", nodeKey(toNodeId));
+
+        return query(query, vars, Integer.class).get(0);
+    }
+
+    @Override
+    public int findNodeWithLeastEdges(Direction direction) {
+        return findNodeByDegree(direction, "ASC");
+    }
+
+    @Override
+    public int findNodeWithMostEdges(Direction direction) {
+        return findNodeByDegree(direction, "DESC");
+    }
+
+    private int findNodeByDegree(Direction direction, String order) {
+        int nodeId = -1;
+
+        String query;
+        switch (direction) {
+            case IN:
+                query = "FOR f IN Friends COLLECT personId = f._to WITH COUNT INTO counter SORT counter %s LIMIT 1 RETURN (FOR p IN Persons FILTER p._id == personId RETURN p)[0]";
+                break;
+            case OUT:
+                query = "FOR f IN Friends COLLECT personId = f._from WITH COUNT INTO counter SORT counter %s LIMIT 1 RETURN (FOR p IN Persons FILTER p._id == personId RETURN p)[0]";
+                break;
+            default:
+                query = "FOR p IN Persons LET counter = LENGTH(FOR f IN Friends FILTER f._to == p._id || f._from == p._id RETURN f) SORT counter %s LIMIT 1 RETURN p";
+                break;
+        }
+
+        List<Person> results = query(String.format(query, order), null, Person.class);
+        if (!results.isEmpty()) {
+            nodeId = Integer.parseInt(results.get(0).getNodeId());
+        }
+
+        return nodeId;
+    }
+
+    @Override
+    public int findNeighbors(int nodeId, int depth) {
+        String query = String.format("FOR v, e, p IN %d %s (FOR p IN Persons FILTER p.nodeId == @nodeId RETURN p._id)[0] Friends RETURN v", depth, friendDirection());
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("nodeId", String.valueOf(nodeId));
+        return query(query, vars, Person.class).size();
+    }
+
+    @Override
+    public boolean createNode(int nodeId) {
+        return createPerson(String.valueOf(nodeId)).getId() != null;
+    }
+
+    @Override
+    public boolean createRelationship(int firstNodeId, int secondNodeId) {
+        String query = "LET firstNodeId = (FOR p IN Persons FILTER p.nodeId == @firstNodeId RETURN p._id)[0] LET secondNodeId = (FOR p IN Persons FILTER p.nodeId == @secondNodeId RETURN p._id)[0] LET friends = " + friendships("firstNodeId", "secondNodeId") + " FOR f IN friends INSERT f IN Friends LET inserted = NEW RETURN inserted";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("firstNodeId", String.valueOf(firstNodeId));
+        vars.put("secondNodeId", String.valueOf(secondNodeId));
+        List<Friend> results = query(query, vars, Friend.class);
+
+        return !results.isEmpty();
+    }
+
+    @Override
+    public boolean updateNode(int nodeId, String firstName, String lastName) {
+        String query = "FOR p IN Persons FILTER p.`nodeId` == @nodeId UPDATE p WITH {firstName: @firstName, lastName: @lastName} IN Persons RETURN NEW";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("nodeId", String.valueOf(nodeId));
+        vars.put("firstName", firstName);
+        vars.put("lastName", lastName);
+        List<Person> results = query(query, vars, Person.class);
+
+        return !results.isEmpty();
+    }
+
+    @Override
+    public boolean deleteNode(int nodeId) {
+        String query = "FOR p IN Persons FILTER p.`nodeId` == @nodeId REMOVE p IN Persons RETURN OLD";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("nodeId", String.valueOf(nodeId));
+        List<Person> results = query(query, vars, Person.class);
+
+        return !results.isEmpty();
+    }
+
+    @Override
+    public boolean deleteRelationship(int firstNodeId, int secondNodeId) {
+        String query = "LET firstNodeId = (FOR p IN Persons FILTER p.nodeId == @firstNodeId RETURN p._id)[0] LET secondNodeId = (FOR p IN Persons FILTER p.nodeId == @secondNodeId RETURN p._id)[0] FOR f IN Friends FILTER (f._from == firstNodeId AND f._to == secondNodeId) OR (f._from == secondNodeId AND f._to == firstNodeId) REMOVE f IN Friends RETURN OLD";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("firstNodeId", String.valueOf(firstNodeId));
+        vars.put("secondNodeId", String.valueOf(secondNodeId));
+        List<Friend> results = query(query, vars, Friend.class);
+
+        return !results.isEmpty();
+    }
+
+    @Override
+    public long[] resolveNativeIds(int[] nodeIds) {
+        long[] nativeIds = new long[nodeIds.length];
+        Arrays.fill(nativeIds, -1);
+
+        List<String> rows = new ArrayList<>(nodeIds.length);
+        for (int nodeId : nodeIds) {
+            rows.add(String.valueOf(nodeId));
+        }
+
+        Map<Integer, Long> resolved = new HashMap<>();
+        String query = "FOR p IN Persons FILTER p.nodeId IN @nodeIds RETURN p";
+        for (Person person : query(query, Collections.singletonMap("nodeIds", rows), Person.class)) {
+            try {
+                // the default key generator hands out increasing numbers, so the key fits a long
+                resolved.put(Integer.parseInt(person.getNodeId()), Long.parseLong(person.getKey()));
+            } catch (NumberFormatException e) {
+                throw new BenchmarkException(String.format("Document key [%s] of node %s is not numeric.", person.getKey(), person.getNodeId()), e);
+            }
+        }
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            nativeIds[i] = resolved.getOrDefault(nodeIds[i], -1L);
+        }
+
+        return nativeIds;
+    }
+
+    private static String documentId(long nativeId) {
+        return VERTEXT_COLLECTION_NAME + "/" + nativeId;
+    }
+
+    @Override
+    public boolean findNodeByNativeId(long nativeId) {
+        String query = "FOR p IN Persons FILTER p._key == @key RETURN p";
+        return !query(query, Collections.singletonMap("key", String.valueOf(nativeId)), Person.class).isEmpty();
+    }
+
+    @Override
+    public int findNeighborsByNativeId(long nativeId, int depth) {
+        String query = String.format("FOR v, e, p IN %d %s @start Friends RETURN v", depth, friendDirection());
+        return query(query, Collections.singletonMap("start", documentId(nativeId)), Person.class).size();
+    }
+
+    @Override
+    public boolean createRelationshipByNativeIds(long firstNativeId, long secondNativeId) {
+        String query = "FOR f IN " + friendships("@firstId", "@secondId") + " INSERT f IN Friends LET inserted = NEW RETURN inserted";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("firstId", documentId(firstNativeId));
+        vars.put("secondId", documentId(secondNativeId));
+        List<Friend> results = query(query, vars, Friend.class);
+
+        return !results.isEmpty();
+    }
+
+    @Override
+    public boolean updateNodeByNativeId(long nativeId, String firstName, String lastName) {
+        String query = "FOR p IN Persons FILTER p._key == @key UPDATE p WITH {firstName: @firstName, lastName: @lastName} IN Persons RETURN NEW";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("key", String.valueOf(nativeId));
+        vars.put("firstName", firstName);
+        vars.put("lastName", lastName);
+        List<Person> results = query(query, vars, Person.class);
+
+        return !results.isEmpty();
+    }
+
+    @Override
+    public long getStoreSize() {
+        long size = 0;
+        for (String collection : Arrays.asList(VERTEXT_COLLECTION_NAME, EDGE_COLLECTION_NAME, CIRCLE_COLLECTION_NAME, MEMBER_EDGE_COLLECTION_NAME)) {
+            VPackSlice figures = figures(collection);
+            // MMFiles reports data, journal and compaction files, RocksDB reports the estimated size of documents
+            size += figureSize(figures, "datafiles", "fileSize") + figureSize(figures, "journals", "fileSize")
+                    + figureSize(figures, "compactors", "fileSize") + figureSize(figures, "indexes", "size");
+            if (figures.get("documentsSize").isNumber()) {
+                size += figures.get("documentsSize").getAsLong();
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public long getIndexSize() {
+        long size = 0;
+        for (String collection : Arrays.asList(VERTEXT_COLLECTION_NAME, EDGE_COLLECTION_NAME, CIRCLE_COLLECTION_NAME, MEMBER_EDGE_COLLECTION_NAME)) {
+            size += figureSize(figures(collection), "indexes", "size");
+        }
+
+        return size;
+    }
+
+    @Override
+    public long countNodes() {
+        return arangoDB.db(DB_NAME).collection(VERTEXT_COLLECTION_NAME).count().getCount();
+    }
+
+    @Override
+    public long countRelationships() {
+        return arangoDB.db(DB_NAME).collection(EDGE_COLLECTION_NAME).count().getCount();
+    }
+
+    private VPackSlice figures(String collection) {
+        Request request = new Request(DB_NAME, RequestType.GET, String.format("/_api/collection/%s/figures", collection));
+
+        return arangoDB.execute(request).getBody().get("figures");
+    }
+
+    private long figureSize(VPackSlice figures, String group, String attribute) {
+        VPackSlice values = figures.get(group);
+        if (!values.isObject()) {
+            return 0;
+        }
+
+        VPackSlice value = values.get(attribute);
+        return value.isNumber() ? value.getAsLong() : 0;
+    }
+
+    @Override
+    public void dropCaches() {
+        ArangoDatabase database = arangoDB.db(DB_NAME);
+        database.clearQueryCache();
+        // unloading releases the memory of MMFiles collections, RocksDB keeps its block cache
+        database.collection(VERTEXT_COLLECTION_NAME).unload();
+        database.collection(EDGE_COLLECTION_NAME).unload();
+
+        close();
+        open();
+    }
+
+    @Override
+    public void warmUp() {
+        ArangoDatabase database = arangoDB.db(DB_NAME);
+        database.collection(VERTEXT_COLLECTION_NAME).load();
+        database.collection(EDGE_COLLECTION_NAME).load();
+
+        String query = String.format("FOR p IN %s FOR f IN OUTBOUND p %s COLLECT WITH COUNT INTO count RETURN count", VERTEXT_COLLECTION_NAME, EDGE_COLLECTION_NAME);
+        close(openCursor(query, null, Long.class));
+    }
+
+    @Override
+    public int findShortestPathLength(int sourceNodeId, int targetNodeId) {
+        int length = -1;
+
+        String query = "LET source = (FOR p IN Persons FILTER p.nodeId == @sourceNodeId RETURN p._id)[0] LET target = (FOR p IN Persons FILTER p.nodeId == @targetNodeId RETURN p._id)[0] RETURN LENGTH(FOR v IN " + friendDirection() + " SHORTEST_PATH source TO target Friends RETURN v._id) - 1";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("sourceNodeId", String.valueOf(sourceNodeId));
+        vars.put("targetNodeId", String.valueOf(targetNodeId));
+        List<Integer> results = query(query, vars, Integer.class);
+        if (!results.isEmpty()) {
+            length = results.get(0);
+        }
+
+        return length;
+    }
+
+    @Override
+    public int countReachableNodes(int nodeId, int depth) {
+        int count = 0;
+
+        String query = String.format("LET start = (FOR p IN Persons FILTER p.nodeId == @nodeId RETURN p._id)[0] RETURN LENGTH(FOR v IN 1..%d %s start Friends OPTIONS {bfs: true, uniqueVertices: 'global'} FILTER v._id != start RETURN v._id)", depth, friendDirection());
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("nodeId", String.valueOf(nodeId));
+        List<Integer> results = query(query, vars, Integer.class);
+        if (!results.isEmpty()) {
+            count = results.get(0);
+        }
+
+        return count;
+    }
+
+    @Override
+    public long countTriangles() {
+        long count = 0;
+
+        String query = String.format("FOR a IN Persons FOR b IN 1 %1$s a Friends FILTER TO_NUMBER(b.nodeId) > TO_NUMBER(a.nodeId) FOR c IN 1 %1$s b Friends FILTER TO_NUMBER(c.nodeId) > TO_NUMBER(b.nodeId) FOR x IN 1 %1$s c Friends FILTER x._id == a._id COLLECT WITH COUNT INTO counter RETURN counter", friendDirection());
+        List<Long> results = query(query, null, Long.class);
+        if (!results.isEmpty()) {
+            count = results.get(0);
+        }
+
+        return count;
+    }
+
+    @Override
+    public int countConnectedComponents() {
+        int count = 0;
+
+        // connectedcomponents sends messages along the stored edge directions only, which misses components joined
+        // by single edges pointing the other way, so single edges need the weakly connected variant
+        Map<String, Object> params = new HashMap<>();
+        params.put("resultField", "component");
+        if (edgeModel.isDuplicated()) {
+            runPregel("connectedcomponents", params);
+        } else if (wccAvailable) {
+            try {
+                runPregel("wcc", params);
+            } catch (ArangoDBException e) {
+                // wcc arrived with ArangoDB 3.6, older servers reject the unknown algorithm
+                if (!Integer.valueOf(HTTP_BAD_REQUEST).equals(e.getResponseCode())) {
+                    throw e;
+                }
+                wccAvailable = false;
+                return countWeaklyConnectedComponents();
+            }
+        } else {
+            return countWeaklyConnectedComponents();
+        }
+
+        String query = "RETURN LENGTH(FOR p IN Persons COLLECT component = p.component RETURN component)";
+        List<Integer> results = query(query, null, Integer.class);
+        if (!results.isEmpty()) {
+            count = results.get(0);
+        }
+
+        return count;
+    }
+
+    @Override
+    public Map<Integer, Double> computePageRank(int iterations, double dampingFactor) {
+        if (!edgeModel.isDuplicated()) {
+            return computeUndirectedPageRank(iterations, dampingFactor);
+        }
+
+        Map<Integer, Double> ranks = new HashMap<>();
+
+        // the Pregel implementation uses a fixed damping factor of 0.85
+        Map<String, Object> params = new HashMap<>();
+        params.put("maxGSS", iterations);
+        params.put("resultField", "rank");
+        runPregel("pagerank", params);
+
+        String query = "FOR p IN Persons RETURN {nodeId: p.nodeId, rank: p.rank}";
+        List<BaseDocument> results = query(query, null, BaseDocument.class);
+        for (BaseDocument document : results) {
+            ranks.put(Integer.parseInt(String.valueOf(document.getAttribute("nodeId"))), ((Number) document.getAttribute("rank")).doubleValue());
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Labels one component after the other with an undirected traversal from a node not labeled yet, for servers
+     * without the Pregel wcc algorithm.
+     */
+    private int countWeaklyConnectedComponents() {
+        update("FOR p IN Persons UPDATE p WITH {component: null} IN Persons OPTIONS {keepNull: false}", null);
+
+        int count = 0;
+        Map<String, Object> vars = new HashMap<>();
+        while (true) {
+            List<String> starts = query("FOR p IN Persons FILTER p.component == null LIMIT 1 RETURN p._id", null, String.class);
+            if (starts.isEmpty()) {
+                return count;
+            }
+
+            // traversals may not read a collection the same query modifies, so the members are labeled separately
+            vars.clear();
+            vars.put("start", starts.get(0));
+            List<String> members = query("FOR v IN 0..1000000 ANY @start Friends OPTIONS {bfs: true, uniqueVertices: 'global'} RETURN v._key", vars, String.class);
+
+            vars.clear();
+            vars.put("members", members);
+            vars.put("component", count++);
+            update("FOR key IN @members UPDATE key WITH {component: @component} IN Persons", vars);
+        }
+    }
+
+    private Map<Integer, Double> computeUndirectedPageRank(int iterations, double dampingFactor) {
+        // pagerank follows the stored edge directions only, so single edges are ranked on the client over both
+        ReferenceGraph.Builder builder = new ReferenceGraph.Builder();
+
+        String query = "FOR p IN Persons RETURN {nodeId: p.nodeId, friends: (FOR f IN 1 ANY p Friends RETURN f.nodeId)}";
+        List<BaseDocument> results = query(query, null, BaseDocument.class);
+        for (BaseDocument document : results) {
+            int nodeId = Integer.parseInt(String.valueOf(document.getAttribute("nodeId")));
+            builder.addNode(nodeId);
+
+            Collection<?> friends = (Collection<?>) document.getAttribute("friends");
+            if (friends != null) {
+                for (Object friend : friends) {
+                    builder.addArc(nodeId, Integer.parseInt(String.valueOf(friend)));
+                }
+            }
+        }
+
+        return builder.build().computePageRank(iterations, dampingFactor);
+    }
+
+    private void runPregel(String algorithm, Map<String, Object> params) {
+        VPackBuilder builder = new VPackBuilder();
+        builder.add(ValueType.OBJECT);
+        builder.add("algorithm", algorithm);
+        // the named graph also holds Circles and Members, which must not take part in the friendship algorithms
+        builder.add("vertexCollections", ValueType.ARRAY);
+        builder.add(VERTEXT_COLLECTION_NAME);
+        builder.close();
+        builder.add("edgeCollections", ValueType.ARRAY);
+        builder.add(EDGE_COLLECTION_NAME);
+        builder.close();
+        builder.add("params", ValueType.OBJECT);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            if (param.getValue() instanceof Number) {
+                builder.add(param.getKey(), ((Number) param.getValue()).longValue());
+            } else {
+                builder.add(param.getKey(), String.valueOf(param.getValue()));
+            }
+        }
+        builder.close();
+        builder.close();
+
+        Request start = new Request(DB_NAME, RequestType.POST, "/_api/control_pregel").setBody(builder.slice());
+        VPackSlice body = arangoDB.execute(start).getBody();
+        String executionId = body.isString() ? body.getAsString() : String.valueOf(body.getAsLong());
+
+        String state;
+        do {
+            try {
+                Thread.sleep(PREGEL_POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BenchmarkException(String.format("Interrupted while waiting for Pregel %s.", algorithm));
+            }
+
+            Request status = new Request(DB_NAME, RequestType.GET, "/_api/control_pregel/" + executionId);
+            state = arangoDB.execute(status).getBody().get("state").getAsString();
+        } while ("running".equals(state) || "storing".equals(state));
+
+        if (!"done".equals(state)) {
+            throw new BenchmarkException(String.format("Pregel %s finished in state [%s].", algorithm, state));
+        }
+    }
+
+    @Override
+    public int findFriendsInCircleWithFeature(int nodeId, String circleId, int featureId) {
+        String query = "LET start = (FOR p IN Persons FILTER p.nodeId == @nodeId RETURN p._id)[0] FOR friend IN 1 " + friendDirection() + " start Friends FILTER @featureId IN friend.features FOR c IN 1 OUTBOUND friend Members FILTER c.circleId == @circleId RETURN friend";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("nodeId", String.valueOf(nodeId));
+        vars.put("circleId", circleId);
+        vars.put("featureId", featureId);
+
+        return count(query, vars);
+    }
+
+    @Override
+    public int countCircleMembersWithFeature(String circleId, int featureId) {
+        String query = "FOR c IN Circles FILTER c.circleId == @circleId FOR p IN 1 INBOUND c Members FILTER @featureId IN p.features RETURN p";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("circleId", circleId);
+        vars.put("featureId", featureId);
+
+        return count(query, vars);
+    }
+
+    @Override
+    public int countNodesWithFeature(int featureId) {
+        String query = "FOR p IN Persons FILTER @featureId IN p.features RETURN p";
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("featureId", featureId);
+
+        return count(query, vars);
+    }
+
+    @Override
+    public PreparedQuery prepare(String query, List<String> parameterNames) {
+        String[] names = parameterNames.toArray(new String[0]);
+
+        // the driver serializes the bind variables before the request is sent, so each thread reuses one map
+        ThreadLocal<Map<String, Object>> varMaps = ThreadLocal.withInitial(HashMap::new);
+
+        return values -> {
+            Map<String, Object> vars = varMaps.get();
+            for (int i = 0; i < names.length; i++) {
+                vars.put(names[i], values[i]);
+            }
+
+            return query(query, vars, VPackSlice.class).size();
+        };
+    }
+
+    private int count(String query, Map<String, Object> vars) {
+        return query(query, vars, Person.class).size();
+    }
+
+    /**
+     * Runs a query and reports the execution time and the scan counters the server returns with the cursor.
+     */
+    private <T> List<T> query(String query, Map<String, Object> vars, Class<T> type) {
+        explain(query, vars);
+
+        long start = System.nanoTime();
+        ArangoCursor<T> cursor = openCursor(query, vars, type);
+        List<T> results;
+        try {
+            results = cursor.asListRemaining();
+        } finally {
+            close(cursor);
+        }
+        long driverNanos = System.nanoTime() - start;
+
+        CursorEntity.Stats stats = cursor.getStats();
+        if (stats != null && stats.getExecutionTime() != null) {
+            ServerTimings.recordRequest(driverNanos, (long) (stats.getExecutionTime() * 1e9));
+        } else {
+            ServerTimings.recordRequest(driverNanos, -1);
+        }
+        if (stats != null) {
+            ServerTimings.recordStatistic("scannedFull", stats.getScannedFull() == null ? 0 : stats.getScannedFull());
+            ServerTimings.recordStatistic("scannedIndex", stats.getScannedIndex() == null ? 0 : stats.getScannedIndex());
+            ServerTimings.recordStatistic("filtered", stats.getFiltered() == null ? 0 : stats.getFiltered());
+        }
+
+        return results;
+    }
+
+    /**
+     * Runs a query whose result is not needed and releases its cursor.
+     */
+    private void update(String query, Map<String, Object> vars) {
+        close(openCursor(query, vars, Void.class));
+    }
+
+    private <T> ArangoCursor<T> openCursor(String query, Map<String, Object> vars, Class<T> type) {
+        ArangoCursor<T> cursor = arangoDB.db(DB_NAME).query(query, vars, null, type);
+        openCursors.incrementAndGet();
+
+        return cursor;
+    }
+
+    /**
+     * Deletes the cursor on the server unless it is exhausted, in which case the server has released it already and
+     * a delete would fail. A cursor left open holds its batch on the server until its time to live runs out.
+     */
+    private void close(ArangoCursor<?> cursor) {
+        try {
+            if (cursor.hasNext()) {
+                cursor.close();
+            }
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to close cursor. Message: %s", e.getMessage()), e);
+        } finally {
+            openCursors.decrementAndGet();
+        }
+    }
+
+    /**
+     * Records the plan of the query while plans are captured. The driver cannot map the index descriptions of an
+     * explained plan, so the explain API is called directly.
+     */
+    private void explain(String query, Map<String, Object> vars) {
+        if (!QueryPlans.isCapturing()) {
+            return;
+        }
+
+        VPackBuilder builder = new VPackBuilder();
+        builder.add(ValueType.OBJECT);
+        builder.add("query", query);
+        // bind variables go through the driver serializer, exactly as they do when the query runs
+        builder.add("bindVars", arangoDB.util().serialize(vars != null ? vars : Collections.emptyMap(), new ArangoSerializer.Options().serializeNullValues(true)));
+        builder.close();
+
+        Request request = new Request(DB_NAME, RequestType.POST, "/_api/explain").setBody(builder.slice());
+        long start = System.nanoTime();
+        VPackSlice nodes = arangoDB.execute(request).getBody().get("plan").get("nodes");
+        QueryPlans.recordOverhead(System.nanoTime() - start);
+
+        List<String> lines = new ArrayList<>();
+        boolean indexed = false;
+        for (Iterator<VPackSlice> iterator = nodes.arrayIterator(); iterator.hasNext(); ) {
+            VPackSlice node = iterator.next();
+            String nodeType = node.get("type").getAsString();
+            StringBuilder line = new StringBuilder(nodeType);
+            if (node.get("collection").isString()) {
+                line.append(' ').append(node.get("collection").getAsString());
+            }
+            VPackSlice indexes = node.get("indexes");
+            if (indexes.isArray()) {
+                for (Iterator<VPackSlice> indexIterator = indexes.arrayIterator(); indexIterator.hasNext(); ) {
+                    VPackSlice index = indexIterator.next();
+                    List<String> fields = new ArrayList<>();
+                    for (Iterator<VPackSlice> fieldIterator = index.get("fields").arrayIterator(); fieldIterator.hasNext(); ) {
+                        fields.add(fieldIterator.next().getAsString());
+                    }
+                    line.append(String.format(" [%s %s]", index.get("type").getAsString(), fields));
+                }
+            }
+            lines.add(line.toString());
+
+            // traversals and path searches always walk the edge index
+            indexed |= "IndexNode".equals(nodeType) || "TraversalNode".equals(nodeType) || "ShortestPathNode".equals(nodeType);
+        }
+        QueryPlans.record(query, String.join(System.lineSeparator(), lines), indexed);
+    }
+
+    @Override
+    public Map<String, Long> getOpenResources() {
+        // the driver does not expose its connection pool, the cursors opened through it are counted here
+        return Collections.singletonMap("cursors", openCursors.get());
+    }
+
+    @Override
+    public void close() {
+        arangoDB.shutdown();
+    }
+}
@@ -3,6 +3,8 @@ package com.graphdatabases.arangodb.model;
 import com.arangodb.entity.DocumentField;
 import com.arangodb.entity.DocumentField.Type;
 
+import java.util.List;
+
 public class Person {
 
     @DocumentField(Type.ID)
@@ -14,6 +16,7 @@ public class Person {
     private String nodeId;
     private String firstName;
     private String lastName;
+    private List<Integer> features;
 
     public Person() {}
 
@@ -68,4 +71,12 @@ public class Person {
     public void setLastName(String lastName) {
         this.lastName = lastName;
     }
+
+    public List<Integer> getFeatures() {
+        return features;
+    }
+
+    public void setFeatures(List<Integer> features) {
+        this.features = features;
+    }
 }
@@ -1,11 +1,21 @@
 package com.graphdatabases.benchmark;
 
-import com.google.common.base.Stopwatch;
 import com.graphdatabases.benchmark.annotation.Benchmark;
+import com.graphdatabases.benchmark.annotation.Level;
 import com.graphdatabases.benchmark.annotation.Setup;
 import com.graphdatabases.benchmark.annotation.TearDown;
 import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.jfr.FlightRecorder;
+import com.graphdatabases.benchmark.plan.PlanStore;
+import com.graphdatabases.benchmark.plan.QueryPlan;
+import com.graphdatabases.benchmark.plan.QueryPlans;
+import com.graphdatabases.benchmark.statistics.SampleStatistics;
+import com.graphdatabases.benchmark.timing.LatencyBreakdown;
+import com.graphdatabases.benchmark.timing.ServerTimings;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
@@ -13,26 +23,60 @@ import java.util.concurrent.TimeUnit;
 
 public class BenchmarkTest {
 
+    public static final String TIMINGS_PROPERTY = "benchmark.timings";
+    public static final String PLANS_PROPERTY = "benchmark.plans";
+    public static final String PLANS_DIRECTORY_PROPERTY = "benchmark.plans.directory";
+    public static final String JFR_PROPERTY = "benchmark.jfr";
+    public static final String JFR_RECORDING_PROPERTY = "benchmark.jfr.recording";
+
+    private static final FlightRecorder FLIGHT_RECORDER = FlightRecorder.load();
+
+    private static final int MIN_ADAPTIVE_SAMPLES = 10;
+    private static final int CALIBRATION_INVOCATIONS = 100000;
+
     private Class clazz;
+    private Object instance;
+    private String name;
+    private Map<String, List<Long>> results = new LinkedHashMap<>();
+    private Map<String, SampleStatistics> summaries = new LinkedHashMap<>();
+    private Map<String, List<QueryPlan>> plans = new LinkedHashMap<>();
 
     public BenchmarkTest(Class clazz) {
         this.clazz = clazz;
+        this.name = clazz.getName();
+    }
+
+    public BenchmarkTest(String name, Object instance) {
+        this.clazz = instance.getClass();
+        this.instance = instance;
+        this.name = name;
     }
 
     public void run() {
-        System.out.println(String.format("%s: Benchmark started.", clazz.getName()));
+        System.out.println(String.format("%s: Benchmark started.", name));
 
+        // events are on by default only where the running JVM has a flight recorder
+        boolean emitEvents = Boolean.parseBoolean(System.getProperty(JFR_PROPERTY, String.valueOf(FLIGHT_RECORDER != null)));
+        String recordingDirectory = System.getProperty(JFR_RECORDING_PROPERTY);
+        if ((emitEvents || recordingDirectory != null) && FLIGHT_RECORDER == null) {
+            throw new BenchmarkException("Flight recorder events need a JVM with jdk.jfr and a build on Java 11 or later.");
+        }
+        FlightRecorder.Recording recording = recordingDirectory != null ? FLIGHT_RECORDER.startRecording(recordingDirectory, name) : null;
         try {
-            Object object = clazz.newInstance();
+            Object object = instance != null ? instance : clazz.newInstance();
 
-            List<Method> setupMethods = new ArrayList<>();
-            List<Method> tearDownMethods = new ArrayList<>();
+            Map<Level, List<Method>> setupMethods = new EnumMap<>(Level.class);
+            Map<Level, List<Method>> tearDownMethods = new EnumMap<>(Level.class);
+            for (Level level : Level.values()) {
+                setupMethods.put(level, new ArrayList<>());
+                tearDownMethods.put(level, new ArrayList<>());
+            }
             Map<Integer, List<Method>> benchmarkMethodsGroupedByPriority = new HashMap<>();
 
             Method[] methods = clazz.getMethods();
             for (Method method : methods) {
                 if (method.isAnnotationPresent(Setup.class)) {
-                    setupMethods.add(method);
+                    setupMethods.get(method.getAnnotation(Setup.class).level()).add(method);
                 } else if (method.isAnnotationPresent(Benchmark.class)) {
                     Benchmark benchmark = method.getAnnotation(Benchmark.class);
 
@@ -45,37 +89,120 @@ public class BenchmarkTest {
                         benchmarkMethodsGroupedByPriority.put(benchmark.priority(), groupedMethods);
                     }
                 } else if (method.isAnnotationPresent(TearDown.class)) {
-                    tearDownMethods.add(method);
+                    tearDownMethods.get(method.getAnnotation(TearDown.class).level()).add(method);
                 }
             }
             List<Method> benchmarkMethods = sortBenchmarkMethodsByPriority(benchmarkMethodsGroupedByPriority);
 
             // setup
-            validateSetupMethods(setupMethods);
-            for (Method method : setupMethods) {
+            validateSetupMethods(setupMethods, benchmarkMethods);
+            validateTearDownMethods(tearDownMethods, benchmarkMethods);
+            for (Method method : setupMethods.get(Level.TRIAL)) {
                 System.out.println(String.format("Invoking setup method: %s", method.getName()));
                 method.invoke(object);
             }
 
             // benchmark
+            boolean captureTimings = Boolean.parseBoolean(System.getProperty(TIMINGS_PROPERTY, "true"));
+            PlanStore planStore = Boolean.parseBoolean(System.getProperty(PLANS_PROPERTY, "true"))
+                    ? new PlanStore(System.getProperty(PLANS_DIRECTORY_PROPERTY, "plans"), name)
+                    : null;
+            long harnessOverhead = calibrate();
+            System.out.println(String.format("%s: Harness overhead - %d ns per invocation, subtracted from every sample.", name, harnessOverhead));
             for (Method method : benchmarkMethods) {
                 Benchmark benchmark = method.getAnnotation(Benchmark.class);
+                List<Method> iterationSetups = fixturesOf(setupMethods.get(Level.ITERATION), method);
+                List<Method> invocationSetups = fixturesOf(setupMethods.get(Level.INVOCATION), method);
+                List<Method> invocationTearDowns = fixturesOf(tearDownMethods.get(Level.INVOCATION), method);
+                List<Method> iterationTearDowns = fixturesOf(tearDownMethods.get(Level.ITERATION), method);
+
+                invokeAll(object, iterationSetups);
+
+                MethodHandle handle = MethodHandles.lookup().unreflect(method).bindTo(object).asType(MethodType.methodType(Object.class));
+                long[] nanos = new long[Math.max(benchmark.iteration(), benchmark.budgetMillis() > 0 ? 1024 : 16)];
+                int count = 0;
+                int nextCheck = Math.max(benchmark.iteration(), MIN_ADAPTIVE_SAMPLES);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(benchmark.budgetMillis());
+                SampleStatistics statistics = null;
+                LatencyBreakdown breakdown = new LatencyBreakdown();
+                while (count < benchmark.iteration() || (benchmark.budgetMillis() > 0 && System.nanoTime() < deadline)) {
+                    invokeAll(object, invocationSetups);
 
-                List<Long> times = new ArrayList<>();
-                for (int i = 0; i < benchmark.iteration(); i++) {
-                    Stopwatch stopwatch = Stopwatch.createStarted();
-                    method.invoke(object);
-                    stopwatch.stop();
+                    // plans are captured during the first timed invocation, so benchmarks run exactly as often as
+                    // configured and writes or sampled targets are not repeated for the sake of a plan
+                    boolean capturingPlans = planStore != null && count == 0;
+                    if (capturingPlans) {
+                        QueryPlans.start();
+                    }
+                    if (captureTimings) {
+                        ServerTimings.start();
+                    }
+                    FlightRecorder.Invocation event = emitEvents ? FLIGHT_RECORDER.beginInvocation() : null;
+                    long begin = System.nanoTime();
+                    Object result = invoke(handle);
+                    long end = System.nanoTime();
+                    if (event != null) {
+                        event.end();
+                    }
+                    ServerTimings.Capture capture = captureTimings ? ServerTimings.stop() : null;
+                    QueryPlans.Capture planCapture = capturingPlans ? QueryPlans.stop() : null;
 
-                    times.add(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+                    invokeAll(object, invocationTearDowns);
+
+                    // neither the harness itself nor requests an engine makes only to obtain server timings or plans are
+                    // part of the measurement
+                    long elapsed = Math.max(0, end - begin - harnessOverhead - (capture != null ? capture.getOverheadNanos() : 0)
+                            - (planCapture != null ? planCapture.getOverheadNanos() : 0));
+                    if (planCapture != null) {
+                        recordPlans(method, planCapture.getPlans(), planStore);
+                    }
+                    if (capture != null) {
+                        breakdown.add(elapsed, capture);
+                    }
+                    if (event != null) {
+                        event.commit(name, method.getName(), count, elapsed, FlightRecorder.rowsOf(result));
+                    }
+
+                    if (count == nanos.length) {
+                        nanos = Arrays.copyOf(nanos, count * 2);
+                    }
+                    nanos[count++] = elapsed;
+
+                    // the interval is recomputed at geometrically growing sample counts to keep bootstrapping cheap
+                    if (benchmark.budgetMillis() > 0 && count >= nextCheck) {
+                        statistics = SampleStatistics.of(nanos, count);
+                        if (statistics.getRelativeWidth() <= benchmark.targetCiWidth()) {
+                            break;
+                        }
+                        nextCheck = count + count / 2;
+                    }
+                }
+                if (statistics == null || statistics.getCount() != count) {
+                    statistics = SampleStatistics.of(nanos, count);
                 }
 
-                System.out.println(String.format("%s: Execution times - %s", method.getName(), times));
+                invokeAll(object, iterationTearDowns);
+
+                List<Long> times = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    times.add(TimeUnit.NANOSECONDS.toMillis(nanos[i]));
+                }
+                results.put(method.getName(), times);
+                summaries.put(method.getName(), statistics);
+                if (benchmark.budgetMillis() == 0) {
+                    // adaptive runs can take far too many samples to print
+                    System.out.println(String.format("%s: Execution times - %s", method.getName(), times));
+                }
+                boolean converged = statistics.getRelativeWidth() <= benchmark.targetCiWidth();
+                System.out.println(String.format("%s: Statistics - %s%s", method.getName(), statistics,
+                        benchmark.budgetMillis() > 0 && !converged ? ", budget exhausted before reaching the target width" : ""));
+                if (!breakdown.isEmpty()) {
+                    System.out.println(String.format("%s: Latency breakdown - %s", method.getName(), breakdown));
+                }
             }
 
             // teardown
-            validateTearDownMethods(tearDownMethods);
-            for (Method method : tearDownMethods) {
+            for (Method method : tearDownMethods.get(Level.TRIAL)) {
                 System.out.println(String.format("Invoking tear down method: %s", method.getName()));
                 method.invoke(object);
             }
@@ -83,9 +210,65 @@ public class BenchmarkTest {
         } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
             e.printStackTrace();
             throw new BenchmarkException(String.format("Failed to run benchmark test. Message: %s", e.getMessage()));
+        } finally {
+            if (recording != null) {
+                recording.stop();
+            }
+        }
+
+        System.out.println(String.format("%s: Benchmark finished.", name));
+    }
+
+    public Map<String, List<Long>> getResults() {
+        return results;
+    }
+
+    public Map<String, SampleStatistics> getSummaries() {
+        return summaries;
+    }
+
+    public Map<String, List<QueryPlan>> getPlans() {
+        return plans;
+    }
+
+    /**
+     * Calls a benchmark method through its handle. Exceptions it throws are reported as by {@link Method#invoke}.
+     */
+    private static Object invoke(MethodHandle handle) throws InvocationTargetException {
+        try {
+            return (Object) handle.invokeExact();
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Measures the median time the timed region takes around an empty benchmark method, after a first round that
+     * lets the JIT compile the path.
+     */
+    private long calibrate() throws IllegalAccessException, InvocationTargetException {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().findStatic(BenchmarkTest.class, "empty", MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException e) {
+            throw new BenchmarkException("Failed to find the calibration method.", e);
+        }
+
+        long[] nanos = new long[CALIBRATION_INVOCATIONS];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < nanos.length; i++) {
+                long begin = System.nanoTime();
+                invoke(handle);
+                nanos[i] = System.nanoTime() - begin;
+            }
         }
+        Arrays.sort(nanos);
 
-        System.out.println(String.format("%s: Benchmark finished.", clazz.getName()));
+        return nanos[nanos.length / 2];
+    }
+
+    private static Object empty() {
+        return null;
     }
 
     private List<Method> sortBenchmarkMethodsByPriority(Map<Integer, List<Method>> map) {
@@ -100,26 +283,90 @@ public class BenchmarkTest {
         return sortedMethods;
     }
 
-    private void validateSetupMethods(List<Method> methods) {
-        if (methods.size() > 1) {
+    /**
+     * Keeps the plans captured during the first invocation of a benchmark method. Plans that use no index or differ
+     * from the ones stored by the previous run are reported, then the current plans replace the stored ones.
+     */
+    private void recordPlans(Method method, List<QueryPlan> captured, PlanStore store) {
+        if (captured.isEmpty()) {
+            return;
+        }
+        plans.put(method.getName(), captured);
+
+        Set<String> rendered = new LinkedHashSet<>();
+        for (QueryPlan plan : captured) {
+            if (rendered.add(plan.toString()) && !plan.isIndexed()) {
+                System.out.println(String.format("%s: Plan warning - no index used by %s", method.getName(), plan.getQuery()));
+            }
+        }
+        String current = String.join(System.lineSeparator(), rendered);
+
+        String previous = store.load(method.getName());
+        if (previous != null && !previous.equals(current)) {
+            System.out.println(String.format("%s: Plan changed since the previous run - was:%n%s%nnow:%n%s", method.getName(), previous, current));
+        }
+        store.save(method.getName(), current);
+    }
+
+    private List<Method> fixturesOf(List<Method> fixtures, Method benchmarkMethod) {
+        List<Method> applicable = new ArrayList<>();
+        for (Method fixture : fixtures) {
+            String[] benchmarks = fixture.isAnnotationPresent(Setup.class)
+                    ? fixture.getAnnotation(Setup.class).benchmarks()
+                    : fixture.getAnnotation(TearDown.class).benchmarks();
+            if (benchmarks.length == 0 || Arrays.asList(benchmarks).contains(benchmarkMethod.getName())) {
+                applicable.add(fixture);
+            }
+        }
+
+        return applicable;
+    }
+
+    private void invokeAll(Object object, List<Method> methods) throws IllegalAccessException, InvocationTargetException {
+        for (Method method : methods) {
+            method.invoke(object);
+        }
+    }
+
+    private void validateSetupMethods(Map<Level, List<Method>> methods, List<Method> benchmarkMethods) {
+        if (methods.get(Level.TRIAL).size() > 1) {
             throw new BenchmarkException("Only one method can be marked with Setup annotation.");
         }
 
-        if (methods.size() == 1) {
-            if (methods.get(0).getParameterCount() > 0) {
-                throw new BenchmarkException("Methods marked with Setup annotation cannot have parameters.");
+        for (List<Method> levelMethods : methods.values()) {
+            for (Method method : levelMethods) {
+                if (method.getParameterCount() > 0) {
+                    throw new BenchmarkException("Methods marked with Setup annotation cannot have parameters.");
+                }
+                validateFixtureTargets(method, method.getAnnotation(Setup.class).benchmarks(), benchmarkMethods);
             }
         }
     }
 
-    private void validateTearDownMethods(List<Method> methods) {
-        if (methods.size() > 1) {
+    private void validateTearDownMethods(Map<Level, List<Method>> methods, List<Method> benchmarkMethods) {
+        if (methods.get(Level.TRIAL).size() > 1) {
             throw new BenchmarkException("Only one method can be marked with TearDown annotation.");
         }
 
-        if (methods.size() == 1) {
-            if (methods.get(0).getParameterCount() > 0) {
-                throw new BenchmarkException("Methods marked with TearDown annotation cannot have parameters.");
+        for (List<Method> levelMethods : methods.values()) {
+            for (Method method : levelMethods) {
+                if (method.getParameterCount() > 0) {
+                    throw new BenchmarkException("Methods marked with TearDown annotation cannot have parameters.");
+                }
+                validateFixtureTargets(method, method.getAnnotation(TearDown.class).benchmarks(), benchmarkMethods);
+            }
+        }
+    }
+
+    private void validateFixtureTargets(Method fixture, String[] benchmarks, List<Method> benchmarkMethods) {
+        Set<String> names = new HashSet<>();
+        for (Method method : benchmarkMethods) {
+            names.add(method.getName());
+        }
+
+        for (String benchmark : benchmarks) {
+            if (!names.contains(benchmark)) {
+                throw new BenchmarkException(String.format("Method %s refers to unknown benchmark method %s.", fixture.getName(), benchmark));
             }
         }
     }
@@ -0,0 +1,7 @@
+package com.graphdatabases.benchmark;
+
+public enum Direction {
+    IN,
+    OUT,
+    BOTH
+}
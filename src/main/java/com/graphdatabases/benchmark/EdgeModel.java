@@ -0,0 +1,48 @@
+package com.graphdatabases.benchmark;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How an undirected friendship is stored: as two directed edges, one each way, that are traversed outgoing, or as a
+ * single edge that is traversed in both directions. The lightweight model is a single edge kept only as links in the
+ * two vertices, without an edge record of its own.
+ */
+public enum EdgeModel {
+    DUPLICATED,
+    SINGLE,
+    LIGHTWEIGHT;
+
+    public static EdgeModel parse(String declaration) {
+        switch (declaration.trim()) {
+            case "duplicated":
+                return DUPLICATED;
+            case "single":
+                return SINGLE;
+            case "lightweight":
+                return LIGHTWEIGHT;
+            default:
+                throw new BenchmarkException(String.format("Unknown edge model [%s].", declaration));
+        }
+    }
+
+    public static List<EdgeModel> parseAll(String declarations) {
+        List<EdgeModel> models = new ArrayList<>();
+        for (String declaration : declarations.split(",")) {
+            models.add(parse(declaration));
+        }
+
+        return models;
+    }
+
+    public boolean isDuplicated() {
+        return this == DUPLICATED;
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,160 @@
+package com.graphdatabases.benchmark;
+
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.dataset.EgoNetworkProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Engine-neutral operations used by the benchmark scenarios. Implementations are discovered through
+ * {@link java.util.ServiceLoader} and must provide a public no-argument constructor.
+ */
+public interface GraphEngine {
+
+    String getName();
+
+    void open();
+
+    void clean();
+
+    /**
+     * Creates the node classes and the index on nodeId, of the kind last set by {@link #setNodeIndex(NodeIndex)}, for
+     * the edge model last set by {@link #setEdgeModel(EdgeModel)}.
+     */
+    void createSchema();
+
+    /**
+     * Sets the kind of nodeId index the next {@link #createSchema()} builds and returns the kind the engine will
+     * actually build. A key type other than the engine's usual one is honoured by {@link #createNodes},
+     * {@link #findNode} and {@link #countNodesInRange} only, so a schema with it suits graphs of nodes only.
+     */
+    NodeIndex setNodeIndex(NodeIndex index);
+
+    void load(EdgeSource source);
+
+    void createNodes(int[] nodeIds, int length);
+
+    void createRelationships(int[] sourceNodeIds, int[] targetNodeIds, int length);
+
+    /**
+     * Tells whether a failed write is a transient conflict (deadlock, concurrent modification) that succeeds when
+     * the same operation is retried. Only writes that left nothing behind when they failed may be retried.
+     */
+    boolean isRetryable(RuntimeException e);
+
+    /**
+     * Sets the durability of the writes that follow and returns the mode the engine actually runs with. That mode
+     * differs from the requested one where the engine cannot apply a setting from the client. Settings that depend
+     * on the collections or classes are applied to the current schema and again by {@link #createSchema()}.
+     */
+    WriteMode setWriteMode(WriteMode mode);
+
+    /**
+     * Sets how the friendships are stored by the next {@link #createSchema()} and the writes and traversals that
+     * follow it, and returns the model the engine actually uses. The counts of stored relationships, and the degree
+     * queries by direction, report the stored edges, so they depend on the model.
+     */
+    EdgeModel setEdgeModel(EdgeModel model);
+
+    void loadProfiles(EgoNetworkProfiles profiles);
+
+    /**
+     * Creates the secondary indexes on features and circle ids, leaving indexes that already exist in place.
+     */
+    void createPropertyIndexes();
+
+    boolean findNode(int nodeId);
+
+    /**
+     * Counts the nodes with a nodeId from {@code fromNodeId} inclusive to {@code toNodeId} exclusive. String keys
+     * compare as strings, so the range covers other nodes than with integer keys.
+     */
+    int countNodesInRange(int fromNodeId, int toNodeId);
+
+    int findNodeWithLeastEdges(Direction direction);
+
+    int findNodeWithMostEdges(Direction direction);
+
+    int findNeighbors(int nodeId, int depth);
+
+    boolean createNode(int nodeId);
+
+    boolean createRelationship(int firstNodeId, int secondNodeId);
+
+    boolean updateNode(int nodeId, String firstName, String lastName);
+
+    boolean deleteNode(int nodeId);
+
+    boolean deleteRelationship(int firstNodeId, int secondNodeId);
+
+    /**
+     * Looks up the identifiers the engine addresses the nodes by itself (Neo4j node id, OrientDB record id, ArangoDB
+     * document key), packed into a long, or -1 for a node that does not exist. The other {@code ByNativeId}
+     * operations take these identifiers and skip the lookup of the nodeId index.
+     */
+    long[] resolveNativeIds(int[] nodeIds);
+
+    boolean findNodeByNativeId(long nativeId);
+
+    int findNeighborsByNativeId(long nativeId, int depth);
+
+    boolean createRelationshipByNativeIds(long firstNativeId, long secondNativeId);
+
+    boolean updateNodeByNativeId(long nativeId, String firstName, String lastName);
+
+    /**
+     * Bytes the engine uses on disk for the graph, or -1 when it does not expose the figure.
+     */
+    long getStoreSize();
+
+    /**
+     * Bytes of the store taken by indexes, or -1 when the engine does not expose the figure.
+     */
+    long getIndexSize();
+
+    long countNodes();
+
+    long countRelationships();
+
+    /**
+     * Discards what the engine and the client have cached, as far as that is possible from the client, so the next
+     * queries run cold. The connection to the engine is reopened.
+     */
+    void dropCaches();
+
+    /**
+     * Touches every node and relationship once, so the graph is in memory before measuring.
+     */
+    void warmUp();
+
+    int findShortestPathLength(int sourceNodeId, int targetNodeId);
+
+    int countReachableNodes(int nodeId, int depth);
+
+    long countTriangles();
+
+    int countConnectedComponents();
+
+    Map<Integer, Double> computePageRank(int iterations, double dampingFactor);
+
+    int findFriendsInCircleWithFeature(int nodeId, String circleId, int featureId);
+
+    int countCircleMembersWithFeature(String circleId, int featureId);
+
+    int countNodesWithFeature(int featureId);
+
+    /**
+     * Prepares a query written for this engine with named parameters ({@code $name} in Cypher, {@code :name} in
+     * OrientDB SQL, {@code @name} in AQL). The returned query is shared by all threads of a workload.
+     */
+    PreparedQuery prepare(String query, List<String> parameterNames);
+
+    /**
+     * Counts the client-side resources the engine holds open right now (sessions, pooled graphs, cursors), by name.
+     * Outside of running operations the counts return to a steady level; a count that keeps growing is a leak.
+     */
+    Map<String, Long> getOpenResources();
+
+    void close();
+}
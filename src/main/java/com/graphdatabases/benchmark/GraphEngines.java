@@ -0,0 +1,40 @@
+package com.graphdatabases.benchmark;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.*;
+
+public final class GraphEngines {
+
+    public static final String ENGINES_PROPERTY = "benchmark.engines";
+
+    private GraphEngines() {
+    }
+
+    /**
+     * Returns every registered engine, optionally restricted to the comma separated names given in the
+     * {@code benchmark.engines} system property.
+     */
+    public static List<GraphEngine> load() {
+        Set<String> selectedNames = new LinkedHashSet<>();
+        String selection = System.getProperty(ENGINES_PROPERTY, "");
+        for (String name : selection.split(",")) {
+            if (!name.trim().isEmpty()) {
+                selectedNames.add(name.trim().toLowerCase());
+            }
+        }
+
+        List<GraphEngine> engines = new ArrayList<>();
+        for (GraphEngine engine : ServiceLoader.load(GraphEngine.class)) {
+            if (selectedNames.isEmpty() || selectedNames.contains(engine.getName())) {
+                engines.add(engine);
+            }
+        }
+
+        if (engines.isEmpty()) {
+            throw new BenchmarkException(String.format("No graph engine registered for selection [%s].", selection));
+        }
+
+        return engines;
+    }
+}
@@ -0,0 +1,119 @@
+package com.graphdatabases.benchmark;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The kind of index on the nodeId of the nodes, parsed from a declaration such as {@code hash+unique+string}: the
+ * structure ({@code none}, {@code hash}, {@code sorted}, or the engine's choice when omitted), whether it is
+ * {@code unique} or {@code nonunique}, and whether the nodeId is stored as an {@code int} or a {@code string} (the
+ * engine's usual type when omitted).
+ */
+public class NodeIndex {
+
+    public enum Structure {
+        NONE,
+        /**
+         * Chosen by the engine or its server configuration.
+         */
+        DEFAULT,
+        HASH,
+        SORTED
+    }
+
+    public enum KeyType {
+        DEFAULT,
+        INTEGER,
+        STRING
+    }
+
+    private final Structure structure;
+    private final boolean unique;
+    private final KeyType keyType;
+
+    public NodeIndex(Structure structure, boolean unique, KeyType keyType) {
+        this.structure = structure;
+        this.unique = unique;
+        this.keyType = keyType;
+    }
+
+    public static NodeIndex parse(String declaration) {
+        Structure structure = Structure.DEFAULT;
+        boolean unique = false;
+        KeyType keyType = KeyType.DEFAULT;
+        for (String setting : declaration.split("\\+")) {
+            switch (setting.trim()) {
+                case "none":
+                    structure = Structure.NONE;
+                    break;
+                case "hash":
+                    structure = Structure.HASH;
+                    break;
+                case "sorted":
+                    structure = Structure.SORTED;
+                    break;
+                case "unique":
+                    unique = true;
+                    break;
+                case "nonunique":
+                    unique = false;
+                    break;
+                case "int":
+                    keyType = KeyType.INTEGER;
+                    break;
+                case "string":
+                    keyType = KeyType.STRING;
+                    break;
+                default:
+                    throw new BenchmarkException(String.format("Unknown node index setting [%s] in %s.", setting, declaration));
+            }
+        }
+
+        return new NodeIndex(structure, unique, keyType);
+    }
+
+    public static List<NodeIndex> parseAll(String declarations) {
+        List<NodeIndex> indexes = new ArrayList<>();
+        for (String declaration : declarations.split(",")) {
+            indexes.add(parse(declaration.trim()));
+        }
+
+        return indexes;
+    }
+
+    public Structure getStructure() {
+        return structure;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    public NodeIndex withStructure(Structure structure) {
+        return new NodeIndex(structure, unique, keyType);
+    }
+
+    public NodeIndex withUnique(boolean unique) {
+        return new NodeIndex(structure, unique, keyType);
+    }
+
+    public NodeIndex withKeyType(KeyType keyType) {
+        return new NodeIndex(structure, unique, keyType);
+    }
+
+    @Override
+    public String toString() {
+        String label = structure == Structure.DEFAULT ? "engine" : structure.name().toLowerCase();
+        if (structure != Structure.NONE) {
+            label += unique ? "+unique" : "+nonunique";
+        }
+
+        return label + (keyType == KeyType.STRING ? "+string" : keyType == KeyType.INTEGER ? "+int" : "");
+    }
+}
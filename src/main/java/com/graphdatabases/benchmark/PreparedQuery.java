@@ -0,0 +1,17 @@
+package com.graphdatabases.benchmark;
+
+/**
+ * A query in the language of one engine, prepared once by {@link GraphEngine#prepare} and executed many times with
+ * different parameter values. Preparing builds what the engine can reuse on the client, such as command objects and
+ * parameter containers, so an execution only binds values. None of the drivers offers server-side prepared
+ * statements; the server still receives the query text, and reuses a cached plan only where it keeps one.
+ * Executions may run on several threads at once.
+ */
+public interface PreparedQuery {
+
+    /**
+     * Executes the query with the values of its parameters, in the order of the names it was prepared with, and
+     * returns the number of result rows.
+     */
+    int execute(Object... values);
+}
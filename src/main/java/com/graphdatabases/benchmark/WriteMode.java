@@ -0,0 +1,104 @@
+package com.graphdatabases.benchmark;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The guarantees writes are made with, parsed from a declaration such as {@code sync+tx+bookmarks}: whether a commit
+ * waits for the data to be synced to disk ({@code sync}, {@code async}), whether writes run in an explicit
+ * transaction ({@code tx}, {@code notx}) and whether sessions chain bookmarks so a read sees the writes before it
+ * ({@code bookmarks}). Omitted settings are {@code async} and {@code tx}.
+ */
+public class WriteMode {
+
+    public enum Sync {
+        COMMIT,
+        ASYNC,
+        /**
+         * Decided by the server configuration, the client cannot change it.
+         */
+        SERVER
+    }
+
+    private final Sync sync;
+    private final boolean transactional;
+    private final boolean bookmarks;
+
+    public WriteMode(Sync sync, boolean transactional, boolean bookmarks) {
+        this.sync = sync;
+        this.transactional = transactional;
+        this.bookmarks = bookmarks;
+    }
+
+    public static WriteMode parse(String declaration) {
+        Sync sync = Sync.ASYNC;
+        boolean transactional = true;
+        boolean bookmarks = false;
+        for (String setting : declaration.split("\\+")) {
+            switch (setting.trim()) {
+                case "sync":
+                    sync = Sync.COMMIT;
+                    break;
+                case "async":
+                    sync = Sync.ASYNC;
+                    break;
+                case "tx":
+                    transactional = true;
+                    break;
+                case "notx":
+                    transactional = false;
+                    break;
+                case "bookmarks":
+                    bookmarks = true;
+                    break;
+                default:
+                    throw new BenchmarkException(String.format("Unknown write mode setting [%s] in %s.", setting, declaration));
+            }
+        }
+
+        return new WriteMode(sync, transactional, bookmarks);
+    }
+
+    public static List<WriteMode> parseAll(String declarations) {
+        List<WriteMode> modes = new ArrayList<>();
+        for (String declaration : declarations.split(",")) {
+            modes.add(parse(declaration.trim()));
+        }
+
+        return modes;
+    }
+
+    public Sync getSync() {
+        return sync;
+    }
+
+    public boolean isTransactional() {
+        return transactional;
+    }
+
+    public boolean isBookmarks() {
+        return bookmarks;
+    }
+
+    public WriteMode withSync(Sync sync) {
+        return new WriteMode(sync, transactional, bookmarks);
+    }
+
+    public WriteMode withTransactional(boolean transactional) {
+        return new WriteMode(sync, transactional, bookmarks);
+    }
+
+    public WriteMode withBookmarks(boolean bookmarks) {
+        return new WriteMode(sync, transactional, bookmarks);
+    }
+
+    @Override
+    public String toString() {
+        String label = sync == Sync.COMMIT ? "sync" : sync == Sync.ASYNC ? "async" : "server-sync";
+        label += transactional ? "+tx" : "+notx";
+
+        return bookmarks ? label + "+bookmarks" : label;
+    }
+}
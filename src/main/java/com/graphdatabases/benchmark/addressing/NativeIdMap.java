@@ -0,0 +1,53 @@
+package com.graphdatabases.benchmark.addressing;
+
+import com.graphdatabases.benchmark.GraphEngine;
+
+import java.util.Arrays;
+
+/**
+ * The native identifiers of a set of nodes, resolved once through {@link GraphEngine#resolveNativeIds(int[])}. The
+ * nodeIds are kept sorted in one primitive array and the identifiers in a parallel one, so a lookup is a binary
+ * search without boxing and the map costs twelve bytes per node.
+ */
+public class NativeIdMap {
+
+    private final int[] nodeIds;
+    private final long[] nativeIds;
+
+    private NativeIdMap(int[] nodeIds, long[] nativeIds) {
+        this.nodeIds = nodeIds;
+        this.nativeIds = nativeIds;
+    }
+
+    /**
+     * Resolves the given nodes; nodes the engine does not know are left out.
+     */
+    public static NativeIdMap resolve(GraphEngine engine, int... nodeIds) {
+        int[] sorted = Arrays.stream(nodeIds).sorted().distinct().toArray();
+        long[] resolved = engine.resolveNativeIds(sorted);
+
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (resolved[i] != -1) {
+                sorted[size] = sorted[i];
+                resolved[size] = resolved[i];
+                size++;
+            }
+        }
+
+        return new NativeIdMap(Arrays.copyOf(sorted, size), Arrays.copyOf(resolved, size));
+    }
+
+    /**
+     * Returns the native identifier of the node, or -1 when it was not resolved.
+     */
+    public long get(int nodeId) {
+        int index = Arrays.binarySearch(nodeIds, nodeId);
+
+        return index < 0 ? -1 : nativeIds[index];
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+}
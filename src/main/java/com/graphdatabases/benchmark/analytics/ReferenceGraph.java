@@ -0,0 +1,279 @@
+package com.graphdatabases.benchmark.analytics;
+
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+
+import java.util.*;
+
+/**
+ * In-memory adjacency (CSR) representation of a dataset used to compute the expected results of the analytics
+ * scenarios on the client side. Node indexes follow ascending node id order.
+ */
+public class ReferenceGraph {
+
+    private final int[] nodeIds;
+    private final int[] offsets;
+    private final int[] neighbors;
+
+    private ReferenceGraph(int[] nodeIds, int[] offsets, int[] neighbors) {
+        this.nodeIds = nodeIds;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+    }
+
+    public static ReferenceGraph build(EdgeSource source) {
+        Builder builder = new Builder();
+        source.forEach(builder::addEdge);
+
+        return builder.build();
+    }
+
+    public int getNodeCount() {
+        return nodeIds.length;
+    }
+
+    public int getArcCount() {
+        return neighbors.length;
+    }
+
+    public int[] getNodeIds() {
+        return nodeIds.clone();
+    }
+
+    public int getDegree(int nodeId) {
+        int index = indexOf(nodeId);
+        return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+    }
+
+    public int findShortestPathLength(int sourceNodeId, int targetNodeId) {
+        int source = indexOf(sourceNodeId);
+        int target = indexOf(targetNodeId);
+        if (source < 0 || target < 0) {
+            return -1;
+        }
+
+        int[] distances = breadthFirstSearch(source, Integer.MAX_VALUE);
+        return distances[target];
+    }
+
+    public int countReachableNodes(int nodeId, int depth) {
+        int source = indexOf(nodeId);
+        if (source < 0) {
+            return 0;
+        }
+
+        int count = 0;
+        int[] distances = breadthFirstSearch(source, depth);
+        for (int distance : distances) {
+            if (distance > 0) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public long countTriangles() {
+        long count = 0;
+        for (int u = 0; u < nodeIds.length; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = neighbors[i];
+                if (v <= u) {
+                    continue;
+                }
+
+                // both adjacency lists are sorted, so the common neighbours above v are found by a merge
+                int a = offsets[u];
+                int b = offsets[v];
+                while (a < offsets[u + 1] && b < offsets[v + 1]) {
+                    if (neighbors[a] < neighbors[b]) {
+                        a++;
+                    } else if (neighbors[a] > neighbors[b]) {
+                        b++;
+                    } else {
+                        if (neighbors[a] > v) {
+                            count++;
+                        }
+                        a++;
+                        b++;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    public int countConnectedComponents() {
+        int[] parents = new int[nodeIds.length];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+
+        int components = nodeIds.length;
+        for (int u = 0; u < nodeIds.length; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int rootU = findRoot(parents, u);
+                int rootV = findRoot(parents, neighbors[i]);
+                if (rootU != rootV) {
+                    parents[rootU] = rootV;
+                    components--;
+                }
+            }
+        }
+
+        return components;
+    }
+
+    public Map<Integer, Double> computePageRank(int iterations, double dampingFactor) {
+        int n = nodeIds.length;
+        double[] ranks = new double[n];
+        Arrays.fill(ranks, 1.0 / n);
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double[] nextRanks = new double[n];
+            Arrays.fill(nextRanks, (1 - dampingFactor) / n);
+            for (int u = 0; u < n; u++) {
+                int degree = offsets[u + 1] - offsets[u];
+                if (degree == 0) {
+                    continue;
+                }
+
+                double share = dampingFactor * ranks[u] / degree;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    nextRanks[neighbors[i]] += share;
+                }
+            }
+            ranks = nextRanks;
+        }
+
+        Map<Integer, Double> result = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            result.put(nodeIds[i], ranks[i]);
+        }
+
+        return result;
+    }
+
+    public static Set<Integer> findTopRankedNodes(Map<Integer, Double> ranks, int count) {
+        List<Map.Entry<Integer, Double>> entries = new ArrayList<>(ranks.entrySet());
+        entries.sort(Map.Entry.<Integer, Double>comparingByValue().reversed());
+
+        Set<Integer> topNodes = new HashSet<>();
+        for (int i = 0; i < Math.min(count, entries.size()); i++) {
+            topNodes.add(entries.get(i).getKey());
+        }
+
+        return topNodes;
+    }
+
+    private int indexOf(int nodeId) {
+        int index = Arrays.binarySearch(nodeIds, nodeId);
+        return index < 0 ? -1 : index;
+    }
+
+    private int[] breadthFirstSearch(int source, int maxDepth) {
+        int[] distances = new int[nodeIds.length];
+        Arrays.fill(distances, -1);
+        distances[source] = 0;
+
+        int[] queue = new int[nodeIds.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            if (distances[u] == maxDepth) {
+                continue;
+            }
+
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = neighbors[i];
+                if (distances[v] < 0) {
+                    distances[v] = distances[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    private static int findRoot(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+
+        return index;
+    }
+
+    public static class Builder {
+
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private int size;
+
+        public Builder addArc(int sourceNodeId, int targetNodeId) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+
+            sources[size] = sourceNodeId;
+            targets[size] = targetNodeId;
+            size++;
+
+            return this;
+        }
+
+        public Builder addEdge(int firstNodeId, int secondNodeId) {
+            addArc(firstNodeId, secondNodeId);
+            return addArc(secondNodeId, firstNodeId);
+        }
+
+        public Builder addNode(int nodeId) {
+            return addArc(nodeId, nodeId);
+        }
+
+        public ReferenceGraph build() {
+            int[] allNodeIds = new int[size * 2];
+            System.arraycopy(sources, 0, allNodeIds, 0, size);
+            System.arraycopy(targets, 0, allNodeIds, size, size);
+            int[] nodeIds = Arrays.stream(allNodeIds).sorted().distinct().toArray();
+
+            int[] arcSources = new int[size];
+            int[] arcTargets = new int[size];
+            int[] offsets = new int[nodeIds.length + 1];
+            for (int i = 0; i < size; i++) {
+                arcSources[i] = Arrays.binarySearch(nodeIds, sources[i]);
+                arcTargets[i] = Arrays.binarySearch(nodeIds, targets[i]);
+                offsets[arcSources[i] + 1]++;
+            }
+            for (int i = 0; i < nodeIds.length; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] neighbors = new int[size];
+            int[] positions = Arrays.copyOf(offsets, nodeIds.length);
+            for (int i = 0; i < size; i++) {
+                neighbors[positions[arcSources[i]]++] = arcTargets[i];
+            }
+
+            // sort every adjacency list and drop self loops and parallel arcs
+            int[] compactOffsets = new int[nodeIds.length + 1];
+            int length = 0;
+            for (int u = 0; u < nodeIds.length; u++) {
+                Arrays.sort(neighbors, offsets[u], offsets[u + 1]);
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = neighbors[i];
+                    if (v != u && (length == compactOffsets[u] || neighbors[length - 1] != v)) {
+                        neighbors[length++] = v;
+                    }
+                }
+                compactOffsets[u + 1] = length;
+            }
+
+            return new ReferenceGraph(nodeIds, compactOffsets, Arrays.copyOf(neighbors, length));
+        }
+    }
+}
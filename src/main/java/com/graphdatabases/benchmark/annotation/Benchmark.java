@@ -9,7 +9,21 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 public @interface Benchmark {
 
+    /**
+     * Number of iterations, or the minimum number of iterations when a time budget is set.
+     */
     int iteration() default 1;
 
     int priority() default 100;
+
+    /**
+     * Time budget for adaptive iteration. Zero runs exactly {@link #iteration()} iterations.
+     */
+    long budgetMillis() default 0;
+
+    /**
+     * Width of the 95% confidence interval of the median, relative to the median, at which adaptive iteration
+     * stops before the budget runs out.
+     */
+    double targetCiWidth() default 0.05;
 }
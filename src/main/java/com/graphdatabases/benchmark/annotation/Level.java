@@ -0,0 +1,22 @@
+package com.graphdatabases.benchmark.annotation;
+
+/**
+ * When a {@link Setup} or {@link TearDown} method runs. Fixtures never run inside the timed region.
+ */
+public enum Level {
+
+    /**
+     * Once for the whole benchmark class, before the first and after the last benchmark method.
+     */
+    TRIAL,
+
+    /**
+     * Once for every benchmark method, around the series of its iterations.
+     */
+    ITERATION,
+
+    /**
+     * Around every single timed call of a benchmark method.
+     */
+    INVOCATION
+}
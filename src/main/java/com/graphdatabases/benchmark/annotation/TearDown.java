@@ -8,4 +8,11 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface TearDown {
+
+    Level level() default Level.TRIAL;
+
+    /**
+     * Names of the benchmark methods an iteration or invocation level fixture applies to. Empty means all of them.
+     */
+    String[] benchmarks() default {};
 }
@@ -0,0 +1,387 @@
+package com.graphdatabases.benchmark.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.graphdatabases.benchmark.Direction;
+import com.graphdatabases.benchmark.EdgeModel;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.NodeIndex;
+import com.graphdatabases.benchmark.PreparedQuery;
+import com.graphdatabases.benchmark.WriteMode;
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.dataset.EgoNetworkProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * An application cache in front of an engine, as a service would put one. Node lookups and 1-hop and 2-hop neighbor
+ * counts are read through a size-bounded LRU cache; writes through this engine invalidate what they affect. Only
+ * the ends of a relationship are known to the client, so a relationship change drops the 1-hop entries of both ends
+ * and every 2-hop entry, since any of them may have passed through the changed relationship.
+ * <p>
+ * Reads by native identifier and prepared queries bypass the cache; prepared queries do not invalidate it.
+ * <p>
+ * Loads run outside of the cache, so a write may invalidate an entry while a read of the old value is in flight.
+ * Every invalidation bumps a generation, and a value loaded while the generation changed is dropped again instead
+ * of being kept stale; concurrent misses on the same key each load it.
+ */
+public class CachingGraphEngine implements GraphEngine {
+
+    private final GraphEngine engine;
+    private final Cache<Integer, Boolean> nodes;
+    private final Cache<Long, Integer> neighbors;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachingGraphEngine(GraphEngine engine, long maximumSize) {
+        this.engine = engine;
+        this.nodes = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.neighbors = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    public CacheStats getStats() {
+        return nodes.stats().plus(neighbors.stats());
+    }
+
+    public long getSize() {
+        return nodes.size() + neighbors.size();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    private static long neighborsKey(int nodeId, int depth) {
+        return (long) nodeId << 32 | depth;
+    }
+
+    private void invalidateNode(int nodeId) {
+        generation.incrementAndGet();
+        nodes.invalidate(nodeId);
+        invalidations.incrementAndGet();
+    }
+
+    private void invalidateRelationship(int firstNodeId, int secondNodeId) {
+        generation.incrementAndGet();
+        neighbors.invalidate(neighborsKey(firstNodeId, 1));
+        neighbors.invalidate(neighborsKey(secondNodeId, 1));
+        invalidations.incrementAndGet();
+    }
+
+    private void invalidatePaths() {
+        generation.incrementAndGet();
+        neighbors.asMap().keySet().removeIf(key -> (int) (long) key > 1);
+    }
+
+    private void invalidateAllNodes() {
+        generation.incrementAndGet();
+        nodes.invalidateAll();
+    }
+
+    private void invalidateAllNeighbors() {
+        generation.incrementAndGet();
+        neighbors.invalidateAll();
+    }
+
+    private void invalidateAll() {
+        invalidateAllNodes();
+        invalidateAllNeighbors();
+    }
+
+    /**
+     * Returns the cached value or loads it. The generation is read before the load and checked again once the value
+     * is in the cache, so an invalidation that raced with the load, before or after the put, leaves no stale entry.
+     */
+    private <K, V> V readThrough(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        V value = loader.get();
+        cache.put(key, value);
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(key);
+        }
+
+        return value;
+    }
+
+    @Override
+    public String getName() {
+        return engine.getName();
+    }
+
+    @Override
+    public void open() {
+        engine.open();
+    }
+
+    @Override
+    public void clean() {
+        invalidateAll();
+        engine.clean();
+    }
+
+    @Override
+    public void createSchema() {
+        engine.createSchema();
+    }
+
+    @Override
+    public NodeIndex setNodeIndex(NodeIndex index) {
+        return engine.setNodeIndex(index);
+    }
+
+    @Override
+    public void load(EdgeSource source) {
+        invalidateAll();
+        engine.load(source);
+    }
+
+    @Override
+    public void createNodes(int[] nodeIds, int length) {
+        engine.createNodes(nodeIds, length);
+        for (int i = 0; i < length; i++) {
+            invalidateNode(nodeIds[i]);
+        }
+    }
+
+    @Override
+    public void createRelationships(int[] sourceNodeIds, int[] targetNodeIds, int length) {
+        engine.createRelationships(sourceNodeIds, targetNodeIds, length);
+        for (int i = 0; i < length; i++) {
+            invalidateRelationship(sourceNodeIds[i], targetNodeIds[i]);
+        }
+        invalidatePaths();
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return engine.isRetryable(e);
+    }
+
+    @Override
+    public WriteMode setWriteMode(WriteMode mode) {
+        return engine.setWriteMode(mode);
+    }
+
+    @Override
+    public EdgeModel setEdgeModel(EdgeModel model) {
+        invalidateAll();
+        return engine.setEdgeModel(model);
+    }
+
+    @Override
+    public void loadProfiles(EgoNetworkProfiles profiles) {
+        engine.loadProfiles(profiles);
+    }
+
+    @Override
+    public void createPropertyIndexes() {
+        engine.createPropertyIndexes();
+    }
+
+    @Override
+    public boolean findNode(int nodeId) {
+        return readThrough(nodes, nodeId, () -> engine.findNode(nodeId));
+    }
+
+    @Override
+    public int countNodesInRange(int fromNodeId, int toNodeId) {
+        return engine.countNodesInRange(fromNodeId, toNodeId);
+    }
+
+    @Override
+    public int findNodeWithLeastEdges(Direction direction) {
+        return engine.findNodeWithLeastEdges(direction);
+    }
+
+    @Override
+    public int findNodeWithMostEdges(Direction direction) {
+        return engine.findNodeWithMostEdges(direction);
+    }
+
+    @Override
+    public int findNeighbors(int nodeId, int depth) {
+        if (depth > 2) {
+            return engine.findNeighbors(nodeId, depth);
+        }
+
+        return readThrough(neighbors, neighborsKey(nodeId, depth), () -> engine.findNeighbors(nodeId, depth));
+    }
+
+    @Override
+    public boolean createNode(int nodeId) {
+        boolean created = engine.createNode(nodeId);
+        invalidateNode(nodeId);
+
+        return created;
+    }
+
+    @Override
+    public boolean createRelationship(int firstNodeId, int secondNodeId) {
+        boolean created = engine.createRelationship(firstNodeId, secondNodeId);
+        invalidateRelationship(firstNodeId, secondNodeId);
+        invalidatePaths();
+
+        return created;
+    }
+
+    @Override
+    public boolean updateNode(int nodeId, String firstName, String lastName) {
+        boolean updated = engine.updateNode(nodeId, firstName, lastName);
+        invalidateNode(nodeId);
+
+        return updated;
+    }
+
+    @Override
+    public boolean deleteNode(int nodeId) {
+        boolean deleted = engine.deleteNode(nodeId);
+        // the relationships of the node go with it, but the client does not know the other ends
+        invalidateNode(nodeId);
+        invalidateAllNeighbors();
+
+        return deleted;
+    }
+
+    @Override
+    public boolean deleteRelationship(int firstNodeId, int secondNodeId) {
+        boolean deleted = engine.deleteRelationship(firstNodeId, secondNodeId);
+        invalidateRelationship(firstNodeId, secondNodeId);
+        invalidatePaths();
+
+        return deleted;
+    }
+
+    @Override
+    public long[] resolveNativeIds(int[] nodeIds) {
+        return engine.resolveNativeIds(nodeIds);
+    }
+
+    @Override
+    public boolean findNodeByNativeId(long nativeId) {
+        return engine.findNodeByNativeId(nativeId);
+    }
+
+    @Override
+    public int findNeighborsByNativeId(long nativeId, int depth) {
+        return engine.findNeighborsByNativeId(nativeId, depth);
+    }
+
+    @Override
+    public boolean createRelationshipByNativeIds(long firstNativeId, long secondNativeId) {
+        boolean created = engine.createRelationshipByNativeIds(firstNativeId, secondNativeId);
+        // the cache is keyed by nodeId, which a native identifier does not tell
+        invalidateAllNeighbors();
+        invalidations.incrementAndGet();
+
+        return created;
+    }
+
+    @Override
+    public boolean updateNodeByNativeId(long nativeId, String firstName, String lastName) {
+        boolean updated = engine.updateNodeByNativeId(nativeId, firstName, lastName);
+        invalidateAllNodes();
+        invalidations.incrementAndGet();
+
+        return updated;
+    }
+
+    @Override
+    public long getStoreSize() {
+        return engine.getStoreSize();
+    }
+
+    @Override
+    public long getIndexSize() {
+        return engine.getIndexSize();
+    }
+
+    @Override
+    public long countNodes() {
+        return engine.countNodes();
+    }
+
+    @Override
+    public long countRelationships() {
+        return engine.countRelationships();
+    }
+
+    @Override
+    public void dropCaches() {
+        invalidateAll();
+        engine.dropCaches();
+    }
+
+    @Override
+    public void warmUp() {
+        engine.warmUp();
+    }
+
+    @Override
+    public int findShortestPathLength(int sourceNodeId, int targetNodeId) {
+        return engine.findShortestPathLength(sourceNodeId, targetNodeId);
+    }
+
+    @Override
+    public int countReachableNodes(int nodeId, int depth) {
+        return engine.countReachableNodes(nodeId, depth);
+    }
+
+    @Override
+    public long countTriangles() {
+        return engine.countTriangles();
+    }
+
+    @Override
+    public int countConnectedComponents() {
+        return engine.countConnectedComponents();
+    }
+
+    @Override
+    public Map<Integer, Double> computePageRank(int iterations, double dampingFactor) {
+        return engine.computePageRank(iterations, dampingFactor);
+    }
+
+    @Override
+    public int findFriendsInCircleWithFeature(int nodeId, String circleId, int featureId) {
+        return engine.findFriendsInCircleWithFeature(nodeId, circleId, featureId);
+    }
+
+    @Override
+    public int countCircleMembersWithFeature(String circleId, int featureId) {
+        return engine.countCircleMembersWithFeature(circleId, featureId);
+    }
+
+    @Override
+    public int countNodesWithFeature(int featureId) {
+        return engine.countNodesWithFeature(featureId);
+    }
+
+    @Override
+    public PreparedQuery prepare(String query, List<String> parameterNames) {
+        return engine.prepare(query, parameterNames);
+    }
+
+    @Override
+    public Map<String, Long> getOpenResources() {
+        Map<String, Long> resources = new LinkedHashMap<>(engine.getOpenResources());
+        resources.put("cacheEntries", getSize());
+
+        return resources;
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+        engine.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.graphdatabases.benchmark.churn;
+
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * An endless, seeded stream of edge events at a fixed rate. Inserts connect two uniformly drawn existing nodes and
+ * deletes remove a uniformly drawn edge that is currently in the graph, either loaded initially or inserted earlier
+ * by the stream, so the edge count stays stable for a delete ratio of one half.
+ */
+public class ChurnGenerator implements Iterator<EdgeEvent> {
+
+    private final int[] nodeIds;
+    private final double eventsPerSecond;
+    private final double deleteRatio;
+    private final SplittableRandom random;
+
+    private int[] sourceNodeIds = new int[1024];
+    private int[] targetNodeIds = new int[1024];
+    private int edgeCount;
+    private long index;
+
+    public ChurnGenerator(EdgeSource source, int[] nodeIds, double eventsPerSecond, double deleteRatio, long seed) {
+        this.nodeIds = nodeIds;
+        this.eventsPerSecond = eventsPerSecond;
+        this.deleteRatio = deleteRatio;
+        this.random = new SplittableRandom(seed);
+
+        source.forEach(this::addEdge);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public EdgeEvent next() {
+        long offsetMillis = (long) (index++ * 1000 / eventsPerSecond);
+
+        if (edgeCount > 0 && random.nextDouble() < deleteRatio) {
+            int edge = random.nextInt(edgeCount);
+            int sourceNodeId = sourceNodeIds[edge];
+            int targetNodeId = targetNodeIds[edge];
+            edgeCount--;
+            sourceNodeIds[edge] = sourceNodeIds[edgeCount];
+            targetNodeIds[edge] = targetNodeIds[edgeCount];
+
+            return new EdgeEvent(offsetMillis, false, sourceNodeId, targetNodeId);
+        }
+
+        int sourceNodeId = nodeIds[random.nextInt(nodeIds.length)];
+        int targetNodeId;
+        do {
+            targetNodeId = nodeIds[random.nextInt(nodeIds.length)];
+        } while (targetNodeId == sourceNodeId && nodeIds.length > 1);
+        addEdge(sourceNodeId, targetNodeId);
+
+        return new EdgeEvent(offsetMillis, true, sourceNodeId, targetNodeId);
+    }
+
+    private void addEdge(int sourceNodeId, int targetNodeId) {
+        if (edgeCount == sourceNodeIds.length) {
+            sourceNodeIds = Arrays.copyOf(sourceNodeIds, edgeCount * 2);
+            targetNodeIds = Arrays.copyOf(targetNodeIds, edgeCount * 2);
+        }
+
+        sourceNodeIds[edgeCount] = sourceNodeId;
+        targetNodeIds[edgeCount] = targetNodeId;
+        edgeCount++;
+    }
+}
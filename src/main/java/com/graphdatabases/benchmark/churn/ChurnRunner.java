@@ -0,0 +1,173 @@
+package com.graphdatabases.benchmark.churn;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.ingest.Retry;
+import com.graphdatabases.benchmark.statistics.Latencies;
+import com.graphdatabases.benchmark.statistics.LatencyWindow;
+import com.graphdatabases.benchmark.workload.TargetSelector;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Replays an edge stream against a loaded graph while probe threads keep running one-hop traversals. Events are
+ * applied at their scheduled offsets; when the engine falls behind, the delay is reported as lag instead of being
+ * hidden in the write latency. Every window the write and read latencies of the window and the store size are
+ * sampled, so drift caused by fragmentation, index growth or compaction shows up over the run.
+ */
+public class ChurnRunner {
+
+    private static final int MAX_RETRIES = 10;
+
+    private final GraphEngine engine;
+    private final Iterator<EdgeEvent> events;
+    private final TargetSelector probeTargets;
+    private final int probeThreads;
+    private final long durationMillis;
+    private final long windowMillis;
+    private final long seed;
+
+    private final LatencyWindow writes = new LatencyWindow();
+    private final LatencyWindow reads = new LatencyWindow();
+    private final LatencyWindow lags = new LatencyWindow();
+
+    private volatile boolean running;
+
+    public ChurnRunner(GraphEngine engine, Iterator<EdgeEvent> events, TargetSelector probeTargets, int probeThreads, long durationMillis, long windowMillis, long seed) {
+        this.engine = engine;
+        this.events = events;
+        this.probeTargets = probeTargets;
+        this.probeThreads = probeThreads;
+        this.durationMillis = durationMillis;
+        this.windowMillis = windowMillis;
+        this.seed = seed;
+    }
+
+    public List<Sample> run() {
+        List<Sample> samples = new ArrayList<>();
+        long initialStoreSize = engine.getStoreSize();
+        samples.add(new Sample(0, new long[0], new long[0], new long[0], initialStoreSize));
+
+        running = true;
+        ExecutorService executor = Executors.newFixedThreadPool(probeThreads + 1);
+        List<Future<?>> tasks = new ArrayList<>();
+        long start = System.nanoTime();
+        tasks.add(executor.submit(() -> replay(start)));
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int thread = 0; thread < probeThreads; thread++) {
+            SplittableRandom random = seeds.split();
+            tasks.add(executor.submit(() -> probe(random)));
+        }
+
+        try {
+            long elapsedMillis = 0;
+            while (elapsedMillis < durationMillis) {
+                Thread.sleep(Math.min(windowMillis, durationMillis - elapsedMillis));
+                elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                for (Future<?> task : tasks) {
+                    if (task.isDone()) {
+                        task.get();
+                    }
+                }
+
+                Sample sample = new Sample(elapsedMillis, writes.drain(), reads.drain(), lags.drain(), engine.getStoreSize());
+                System.out.println(sample);
+                samples.add(sample);
+            }
+
+            running = false;
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException("Churn run interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Churn run failed. Message: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            running = false;
+            executor.shutdownNow();
+        }
+
+        return samples;
+    }
+
+    private Void replay(long start) throws InterruptedException {
+        while (running && events.hasNext()) {
+            EdgeEvent event = events.next();
+            long scheduled = start + TimeUnit.MILLISECONDS.toNanos(event.getOffsetMillis());
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (!running) {
+                break;
+            }
+
+            long begin = System.nanoTime();
+            lags.record(Math.max(0, begin - scheduled));
+            if (event.isInsert()) {
+                Retry.run(engine, () -> engine.createRelationships(new int[]{event.getSourceNodeId()}, new int[]{event.getTargetNodeId()}, 1), MAX_RETRIES);
+            } else {
+                Retry.run(engine, () -> engine.deleteRelationship(event.getSourceNodeId(), event.getTargetNodeId()), MAX_RETRIES);
+            }
+            writes.record(System.nanoTime() - begin);
+        }
+
+        return null;
+    }
+
+    private Void probe(SplittableRandom random) {
+        while (running) {
+            int nodeId = probeTargets.next(random);
+            long begin = System.nanoTime();
+            engine.findNeighbors(nodeId, 1);
+            reads.record(System.nanoTime() - begin);
+        }
+
+        return null;
+    }
+
+    public static class Sample {
+
+        private final long elapsedMillis;
+        private final long[] sortedWriteLatencies;
+        private final long[] sortedReadLatencies;
+        private final long[] sortedLags;
+        private final long storeSize;
+
+        Sample(long elapsedMillis, long[] sortedWriteLatencies, long[] sortedReadLatencies, long[] sortedLags, long storeSize) {
+            this.elapsedMillis = elapsedMillis;
+            this.sortedWriteLatencies = sortedWriteLatencies;
+            this.sortedReadLatencies = sortedReadLatencies;
+            this.sortedLags = sortedLags;
+            this.storeSize = storeSize;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getWritePercentileMicros(double percentile) {
+            return Latencies.percentileMicros(sortedWriteLatencies, percentile);
+        }
+
+        public long getReadPercentileMicros(double percentile) {
+            return Latencies.percentileMicros(sortedReadLatencies, percentile);
+        }
+
+        public long getStoreSize() {
+            return storeSize;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("t=%ds writes=%d (%s) reads=%d (%s) max lag=%d ms store=%d bytes",
+                    elapsedMillis / 1000, sortedWriteLatencies.length, Latencies.summarize(sortedWriteLatencies),
+                    sortedReadLatencies.length, Latencies.summarize(sortedReadLatencies),
+                    Latencies.percentileMicros(sortedLags, 100) / 1000, storeSize);
+        }
+    }
+}
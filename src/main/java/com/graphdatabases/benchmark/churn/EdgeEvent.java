@@ -0,0 +1,35 @@
+package com.graphdatabases.benchmark.churn;
+
+/**
+ * An edge insert or delete scheduled at an offset from the start of the stream.
+ */
+public class EdgeEvent {
+
+    private final long offsetMillis;
+    private final boolean insert;
+    private final int sourceNodeId;
+    private final int targetNodeId;
+
+    public EdgeEvent(long offsetMillis, boolean insert, int sourceNodeId, int targetNodeId) {
+        this.offsetMillis = offsetMillis;
+        this.insert = insert;
+        this.sourceNodeId = sourceNodeId;
+        this.targetNodeId = targetNodeId;
+    }
+
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    public boolean isInsert() {
+        return insert;
+    }
+
+    public int getSourceNodeId() {
+        return sourceNodeId;
+    }
+
+    public int getTargetNodeId() {
+        return targetNodeId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.graphdatabases.benchmark.churn;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A recorded edge stream with one event per line: {@code <offsetMillis> <+|-> <sourceNodeId> <targetNodeId>},
+ * where {@code +} inserts and {@code -} deletes the edge. Lines starting with {@code #} are comments.
+ */
+public final class EdgeEventFile {
+
+    private EdgeEventFile() {
+    }
+
+    public static Iterator<EdgeEvent> read(String path) {
+        List<EdgeEvent> events = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(path)))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] values = line.trim().split("\\s+");
+                if (values.length != 4 || !("+".equals(values[1]) || "-".equals(values[1]))) {
+                    System.out.println(String.format("Invalid data detected: [%s]", line));
+                    continue;
+                }
+
+                events.add(new EdgeEvent(Long.parseLong(values[0]), "+".equals(values[1]), Integer.parseInt(values[2]), Integer.parseInt(values[3])));
+            }
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to load data. Message: %s", e.getMessage()));
+        }
+
+        return events.iterator();
+    }
+}
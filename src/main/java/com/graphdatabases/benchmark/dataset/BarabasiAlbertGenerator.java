@@ -0,0 +1,72 @@
+package com.graphdatabases.benchmark.dataset;
+
+/**
+ * Barabasi-Albert preferential attachment generator based on the Batagelj-Brandes edge array. Instead of storing
+ * the array, every endpoint is recomputed from a counter based hash of the seed, so edges are streamed in constant
+ * memory and every pass over the source yields the same edges.
+ */
+public class BarabasiAlbertGenerator implements EdgeSource {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final String name;
+    private final long edgeCount;
+    private final int edgesPerNode;
+    private final long seed;
+
+    public BarabasiAlbertGenerator(String name, long edgeCount, int edgesPerNode, long seed) {
+        this.name = name;
+        this.edgeCount = edgeCount;
+        this.edgesPerNode = edgesPerNode;
+        this.seed = seed;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getNodeCount() {
+        return (int) ((edgeCount - 1) / edgesPerNode) + 2;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void forEach(EdgeConsumer consumer) {
+        for (long edge = 0; edge < edgeCount; edge++) {
+            int source = nodeOf(edge);
+            int target = resolve(2 * edge + 1);
+            if (source != target) {
+                consumer.accept(source, target);
+            }
+        }
+    }
+
+    private int nodeOf(long edge) {
+        return (int) (edge / edgesPerNode) + 1;
+    }
+
+    // even positions hold the new node of an edge, odd positions copy a uniformly chosen earlier position
+    private int resolve(long position) {
+        while ((position & 1) == 1) {
+            long edge = position >>> 1;
+            if (edge == 0) {
+                return 0;
+            }
+
+            double uniform = (mix(seed + edge * GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+            position = (long) (uniform * 2 * edge);
+        }
+
+        return nodeOf(position >>> 1);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,323 @@
+package com.graphdatabases.benchmark.dataset;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * An edge source converted once into a binary file that later runs memory-map and replay without parsing. The file
+ * starts with a 32 byte header: magic, version, layout, row count, edge count and the CRC32 of the payload, all
+ * little-endian like the payload.
+ * <p>
+ * In the {@link Layout#PAIRS} layout the payload is the edges as int pairs in the order of the source. In the
+ * {@link Layout#CSR} layout it is a row table of (nodeId, degree) int pairs, most connected node first, followed by
+ * the target node ids of all rows in the same order. Each edge is kept once, under the node it starts from.
+ */
+public class BinaryEdgeFile implements EdgeSource {
+
+    public enum Layout {
+        PAIRS,
+        CSR
+    }
+
+    private static final int MAGIC = 0x47454447;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    // a single mapping is limited to 2 GB, so the payload is mapped in windows; their size keeps pairs whole
+    private static final long WINDOW_BYTES = 1L << 28;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final String name;
+    private final File file;
+    private final Layout layout;
+    private final int rowCount;
+    private final long edgeCount;
+    private final long checksum;
+
+    private BinaryEdgeFile(String name, File file, Layout layout, int rowCount, long edgeCount, long checksum) {
+        this.name = name;
+        this.file = file;
+        this.layout = layout;
+        this.rowCount = rowCount;
+        this.edgeCount = edgeCount;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Reads and checks the header of a file written by {@link #write}. The checksum is only compared by
+     * {@link #verify()}, which reads the whole file.
+     */
+    public static BinaryEdgeFile open(String name, File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new BenchmarkException(String.format("Binary edge file %s has no complete header.", file));
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                channel.read(header, header.position());
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new BenchmarkException(String.format("%s is not a binary edge file of version %d.", file, VERSION));
+            }
+            int layoutOrdinal = header.getInt();
+            if (layoutOrdinal < 0 || layoutOrdinal >= Layout.values().length) {
+                throw new BenchmarkException(String.format("Binary edge file %s has an unknown layout %d.", file, layoutOrdinal));
+            }
+            Layout layout = Layout.values()[layoutOrdinal];
+            int rowCount = header.getInt();
+            long edgeCount = header.getLong();
+            long checksum = header.getLong();
+
+            if (channel.size() != HEADER_BYTES + payloadBytes(layout, rowCount, edgeCount)) {
+                throw new BenchmarkException(String.format("Binary edge file %s is truncated.", file));
+            }
+
+            return new BinaryEdgeFile(name, file, layout, rowCount, edgeCount, checksum);
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to open %s. Message: %s", file, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Streams the source into {@code file} in the given layout. The file is written under a temporary name and
+     * moved in place when complete, so an interrupted conversion never leaves a file that looks valid.
+     */
+    public static BinaryEdgeFile write(EdgeSource source, File file, Layout layout) {
+        File temporary = new File(file.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long[] counts = layout == Layout.PAIRS ? writePairs(source, channel) : writeCsr(source, channel);
+            int rowCount = (int) counts[0];
+            long edgeCount = counts[1];
+
+            CRC32 crc = new CRC32();
+            for (MappedByteBuffer window : map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, payloadBytes(layout, rowCount, edgeCount))) {
+                crc.update(window);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(layout.ordinal()).putInt(rowCount).putLong(edgeCount).putLong(crc.getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to write %s. Message: %s", file, e.getMessage()), e);
+        } catch (UncheckedIOException e) {
+            throw new BenchmarkException(String.format("Failed to write %s. Message: %s", file, e.getCause().getMessage()), e.getCause());
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to move %s in place. Message: %s", file, e.getMessage()), e);
+        }
+
+        return open(source.getName(), file);
+    }
+
+    private static long[] writePairs(EdgeSource source, FileChannel channel) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long[] position = {HEADER_BYTES};
+        long[] edgeCount = {0};
+        source.forEach((sourceNodeId, targetNodeId) -> {
+            if (buffer.remaining() < 8) {
+                position[0] += flush(buffer, channel, position[0]);
+            }
+            buffer.putInt(sourceNodeId).putInt(targetNodeId);
+            edgeCount[0]++;
+        });
+        flush(buffer, channel, position[0]);
+
+        return new long[]{0, edgeCount[0]};
+    }
+
+    /**
+     * Builds the CSR layout in two passes over the source: the first counts the degrees, the second writes every
+     * target at the next free slot of its row directly into the mapped file, so no edge is held in memory.
+     */
+    private static long[] writeCsr(EdgeSource source, FileChannel channel) throws IOException {
+        int[][] degrees = {new int[1024]};
+        long[] edgeCount = {0};
+        source.forEach((sourceNodeId, targetNodeId) -> {
+            if (sourceNodeId >= degrees[0].length) {
+                degrees[0] = Arrays.copyOf(degrees[0], Math.max(sourceNodeId + 1, degrees[0].length * 2));
+            }
+            degrees[0][sourceNodeId]++;
+            edgeCount[0]++;
+        });
+
+        // sorting by degree and node id in one primitive array avoids boxing a row per node
+        int rowCount = 0;
+        long[] rows = new long[degrees[0].length];
+        for (int nodeId = 0; nodeId < degrees[0].length; nodeId++) {
+            if (degrees[0][nodeId] > 0) {
+                rows[rowCount++] = (long) (Integer.MAX_VALUE - degrees[0][nodeId]) << 32 | nodeId;
+            }
+        }
+        Arrays.sort(rows, 0, rowCount);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long position = HEADER_BYTES;
+        long[] slots = new long[degrees[0].length];
+        long offset = 0;
+        for (int row = 0; row < rowCount; row++) {
+            int nodeId = (int) rows[row];
+            if (buffer.remaining() < 8) {
+                position += flush(buffer, channel, position);
+            }
+            buffer.putInt(nodeId).putInt(degrees[0][nodeId]);
+            slots[nodeId] = offset;
+            offset += degrees[0][nodeId];
+        }
+        position += flush(buffer, channel, position);
+
+        MappedByteBuffer[] targets = map(channel, FileChannel.MapMode.READ_WRITE, position, edgeCount[0] * 4);
+        long[] written = {0};
+        source.forEach((sourceNodeId, targetNodeId) -> {
+            long byteOffset = slots[sourceNodeId]++ * 4;
+            targets[(int) (byteOffset / WINDOW_BYTES)].putInt((int) (byteOffset % WINDOW_BYTES), targetNodeId);
+            written[0]++;
+        });
+        if (written[0] != edgeCount[0]) {
+            throw new BenchmarkException(String.format("Source %s returned %d edges on the second pass instead of %d.", source.getName(), written[0], edgeCount[0]));
+        }
+        for (MappedByteBuffer window : targets) {
+            window.force();
+        }
+
+        return new long[]{rowCount, edgeCount[0]};
+    }
+
+    private static int flush(ByteBuffer buffer, FileChannel channel, long position) {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + bytes - buffer.remaining());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+
+        return bytes;
+    }
+
+    private static long payloadBytes(Layout layout, int rowCount, long edgeCount) {
+        return layout == Layout.PAIRS ? edgeCount * 8 : rowCount * 8L + edgeCount * 4;
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+        MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((size + WINDOW_BYTES - 1) / WINDOW_BYTES)];
+        for (int i = 0; i < windows.length; i++) {
+            long offset = i * WINDOW_BYTES;
+            windows[i] = channel.map(mode, position + offset, Math.min(WINDOW_BYTES, size - offset));
+            windows[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        return windows;
+    }
+
+    private MappedByteBuffer[] mapPayload() {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // a mapping stays valid after its channel is closed
+            return map(channel, FileChannel.MapMode.READ_ONLY, HEADER_BYTES, payloadBytes(layout, rowCount, edgeCount));
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to map %s. Message: %s", file, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Reads the whole payload and compares its CRC32 with the one in the header.
+     */
+    public void verify() {
+        CRC32 crc = new CRC32();
+        for (MappedByteBuffer window : mapPayload()) {
+            crc.update(window);
+        }
+
+        if (crc.getValue() != checksum) {
+            throw new BenchmarkException(String.format("Binary edge file %s is corrupt, its checksum does not match.", file));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void forEach(EdgeConsumer consumer) {
+        MappedByteBuffer[] windows = mapPayload();
+        if (layout == Layout.PAIRS) {
+            for (MappedByteBuffer window : windows) {
+                while (window.hasRemaining()) {
+                    consumer.accept(window.getInt(), window.getInt());
+                }
+            }
+            return;
+        }
+
+        IntCursor rows = new IntCursor(windows, 0);
+        IntCursor targets = new IntCursor(windows, rowCount * 8L);
+        for (int row = 0; row < rowCount; row++) {
+            int nodeId = rows.next();
+            int degree = rows.next();
+            for (int i = 0; i < degree; i++) {
+                consumer.accept(nodeId, targets.next());
+            }
+        }
+    }
+
+    /**
+     * Reads consecutive ints across the windows of a mapping, starting at a byte offset of the payload.
+     */
+    private static class IntCursor {
+
+        private final MappedByteBuffer[] windows;
+        private int window;
+        private ByteBuffer current;
+
+        IntCursor(MappedByteBuffer[] windows, long offset) {
+            this.windows = windows;
+            this.window = (int) (offset / WINDOW_BYTES);
+            this.current = windows.length == 0 ? ByteBuffer.allocate(0) : windows[window].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            this.current.position((int) (offset % WINDOW_BYTES));
+        }
+
+        int next() {
+            if (!current.hasRemaining()) {
+                current = windows[++window].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            return current.getInt();
+        }
+    }
+}
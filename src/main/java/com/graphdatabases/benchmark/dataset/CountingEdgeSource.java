@@ -0,0 +1,28 @@
+package com.graphdatabases.benchmark.dataset;
+
+public class CountingEdgeSource implements EdgeSource {
+
+    private final EdgeSource source;
+    private long count;
+
+    public CountingEdgeSource(EdgeSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public String getName() {
+        return source.getName();
+    }
+
+    @Override
+    public void forEach(EdgeConsumer consumer) {
+        source.forEach((sourceNodeId, targetNodeId) -> {
+            count++;
+            consumer.accept(sourceNodeId, targetNodeId);
+        });
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
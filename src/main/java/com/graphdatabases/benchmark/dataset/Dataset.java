@@ -0,0 +1,85 @@
+package com.graphdatabases.benchmark.dataset;
+
+import java.util.Arrays;
+
+/**
+ * An edge source together with the node ids the scenarios address: its least and most connected nodes and two
+ * ids that are free for the create/update/delete scenarios.
+ */
+public class Dataset {
+
+    private static final int NEW_NODE_ID_SPACING = 10000;
+
+    private final EdgeSource source;
+    private final int leastConnectedNodeId;
+    private final int mostConnectedNodeId;
+    private final int firstNewNodeId;
+    private final int secondNewNodeId;
+
+    public Dataset(EdgeSource source, int leastConnectedNodeId, int mostConnectedNodeId, int firstNewNodeId, int secondNewNodeId) {
+        this.source = source;
+        this.leastConnectedNodeId = leastConnectedNodeId;
+        this.mostConnectedNodeId = mostConnectedNodeId;
+        this.firstNewNodeId = firstNewNodeId;
+        this.secondNewNodeId = secondNewNodeId;
+    }
+
+    public static Dataset facebook() {
+        return new Dataset(EdgeListFile.facebook(), 891, 107, 10000, 20000);
+    }
+
+    /**
+     * Streams the source once to find its degree extremes. Only one counter per node id is kept in memory.
+     */
+    public static Dataset of(EdgeSource source) {
+        int[][] degrees = {new int[1024]};
+        int[] maxNodeId = {-1};
+        source.forEach((sourceNodeId, targetNodeId) -> {
+            int max = Math.max(sourceNodeId, targetNodeId);
+            if (max >= degrees[0].length) {
+                degrees[0] = Arrays.copyOf(degrees[0], Math.max(max + 1, degrees[0].length * 2));
+            }
+            degrees[0][sourceNodeId]++;
+            degrees[0][targetNodeId]++;
+            maxNodeId[0] = Math.max(maxNodeId[0], max);
+        });
+
+        int leastConnectedNodeId = -1;
+        int mostConnectedNodeId = -1;
+        for (int nodeId = 0; nodeId <= maxNodeId[0]; nodeId++) {
+            int degree = degrees[0][nodeId];
+            if (degree == 0) {
+                continue;
+            }
+            if (leastConnectedNodeId < 0 || degree < degrees[0][leastConnectedNodeId]) {
+                leastConnectedNodeId = nodeId;
+            }
+            if (mostConnectedNodeId < 0 || degree > degrees[0][mostConnectedNodeId]) {
+                mostConnectedNodeId = nodeId;
+            }
+        }
+
+        int firstNewNodeId = (maxNodeId[0] / NEW_NODE_ID_SPACING + 1) * NEW_NODE_ID_SPACING;
+        return new Dataset(source, leastConnectedNodeId, mostConnectedNodeId, firstNewNodeId, firstNewNodeId + NEW_NODE_ID_SPACING);
+    }
+
+    public EdgeSource getSource() {
+        return source;
+    }
+
+    public int getLeastConnectedNodeId() {
+        return leastConnectedNodeId;
+    }
+
+    public int getMostConnectedNodeId() {
+        return mostConnectedNodeId;
+    }
+
+    public int getFirstNewNodeId() {
+        return firstNewNodeId;
+    }
+
+    public int getSecondNewNodeId() {
+        return secondNewNodeId;
+    }
+}
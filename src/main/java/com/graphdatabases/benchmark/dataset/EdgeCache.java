@@ -0,0 +1,52 @@
+package com.graphdatabases.benchmark.dataset;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.File;
+
+/**
+ * Keeps the datasets as {@link BinaryEdgeFile}s in a directory, so an edge list is parsed and a generator run only the
+ * first time and later runs replay the memory-mapped file. A cached file is rebuilt when it is older than its source
+ * or unreadable.
+ */
+public final class EdgeCache {
+
+    public static final String DIRECTORY_PROPERTY = "benchmark.dataset.cache";
+    public static final String LAYOUT_PROPERTY = "benchmark.dataset.cache.layout";
+    public static final String VERIFY_PROPERTY = "benchmark.dataset.cache.verify";
+
+    private EdgeCache() {
+    }
+
+    /**
+     * Returns the cached binary form of {@code source}, converting it first when needed, or the source itself when
+     * the cache directory is set empty. The key names the file and must change whenever the edges do.
+     */
+    public static EdgeSource of(EdgeSource source, String key, long sourceLastModified) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY, "dataset-cache");
+        if (directory.isEmpty()) {
+            return source;
+        }
+
+        BinaryEdgeFile.Layout layout = BinaryEdgeFile.Layout.valueOf(System.getProperty(LAYOUT_PROPERTY, "pairs").toUpperCase());
+        File file = new File(directory, String.format("%s.%s.edges", key.replaceAll("[^A-Za-z0-9._-]", "_"), layout.name().toLowerCase()));
+        if (file.exists() && file.lastModified() >= sourceLastModified) {
+            try {
+                BinaryEdgeFile cached = BinaryEdgeFile.open(source.getName(), file);
+                if (Boolean.parseBoolean(System.getProperty(VERIFY_PROPERTY, "false"))) {
+                    cached.verify();
+                }
+
+                return cached;
+            } catch (BenchmarkException e) {
+                System.out.println(String.format("Rebuilding dataset cache %s. Message: %s", file, e.getMessage()));
+            }
+        }
+
+        if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            throw new BenchmarkException(String.format("Failed to create dataset cache directory %s.", directory));
+        }
+        System.out.println(String.format("Converting %s into %s.", source.getName(), file));
+        return BinaryEdgeFile.write(source, file, layout);
+    }
+}
@@ -0,0 +1,7 @@
+package com.graphdatabases.benchmark.dataset;
+
+@FunctionalInterface
+public interface EdgeConsumer {
+
+    void accept(int sourceNodeId, int targetNodeId);
+}
@@ -0,0 +1,74 @@
+package com.graphdatabases.benchmark.dataset;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.*;
+import java.net.URL;
+
+public class EdgeListFile implements EdgeSource {
+
+    private static final String FACEBOOK_PATH = "/datasets/facebook/facebook_combined.txt/facebook_combined.txt";
+
+    private final String name;
+    private final String path;
+
+    public EdgeListFile(String name, String path) {
+        this.name = name;
+        this.path = path;
+    }
+
+    public static EdgeListFile facebook() {
+        URL resource = EdgeListFile.class.getResource(FACEBOOK_PATH);
+        if (resource == null) {
+            throw new BenchmarkException(String.format("Dataset not found: %s", FACEBOOK_PATH));
+        }
+
+        return new EdgeListFile("facebook", resource.getPath());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Replays the edges from the {@link EdgeCache}, which parses the file only when it has no current binary copy.
+     */
+    @Override
+    public void forEach(EdgeConsumer consumer) {
+        EdgeSource parsed = new EdgeSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void forEach(EdgeConsumer consumer) {
+                parse(consumer);
+            }
+        };
+
+        EdgeCache.of(parsed, String.format("%s-%08x", name, path.hashCode()), new File(path).lastModified()).forEach(consumer);
+    }
+
+    private void parse(EdgeConsumer consumer) {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(path)))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] nodes = line.trim().split(" ");
+                if (nodes.length != 2) {
+                    System.out.println(String.format("Invalid data detected: [%s]", line));
+                    continue;
+                }
+
+                consumer.accept(Integer.parseInt(nodes[0]), Integer.parseInt(nodes[1]));
+            }
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to load data. Message: %s", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.graphdatabases.benchmark.dataset;
+
+/**
+ * Streams the undirected edges of a dataset. Each call to {@link #forEach(EdgeConsumer)} replays the
+ * whole dataset from the beginning.
+ */
+public interface EdgeSource {
+
+    String getName();
+
+    void forEach(EdgeConsumer consumer);
+}
@@ -0,0 +1,151 @@
+package com.graphdatabases.benchmark.dataset;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Vertex properties of the Facebook ego networks, read straight from {@code facebook.tar.gz}. Feature vectors
+ * are translated from the per ego local indexes to the global anonymized feature ids found in the
+ * {@code .featnames} files and merged over all ego networks a node appears in. Circles are identified as
+ * {@code <egoNodeId>:<circleName>}.
+ */
+public class EgoNetworkProfiles {
+
+    private static final String FACEBOOK_PATH = "/datasets/facebook/facebook.tar.gz";
+    private static final int TAR_BLOCK_SIZE = 512;
+
+    private final Map<Integer, int[]> features;
+    private final Map<String, int[]> circles;
+
+    private EgoNetworkProfiles(Map<Integer, int[]> features, Map<String, int[]> circles) {
+        this.features = features;
+        this.circles = circles;
+    }
+
+    public static EgoNetworkProfiles facebook() {
+        InputStream resource = EgoNetworkProfiles.class.getResourceAsStream(FACEBOOK_PATH);
+        if (resource == null) {
+            throw new BenchmarkException(String.format("Dataset not found: %s", FACEBOOK_PATH));
+        }
+
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(resource))) {
+            return parse(readTarEntries(in));
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to load data. Message: %s", e.getMessage()));
+        }
+    }
+
+    public Map<Integer, int[]> getFeatures() {
+        return features;
+    }
+
+    public Map<String, int[]> getCircles() {
+        return circles;
+    }
+
+    private static EgoNetworkProfiles parse(Map<String, String> entries) {
+        Map<Integer, Set<Integer>> features = new TreeMap<>();
+        Map<String, int[]> circles = new TreeMap<>();
+
+        for (String name : entries.keySet()) {
+            if (!name.endsWith(".featnames")) {
+                continue;
+            }
+
+            String prefix = name.substring(0, name.length() - ".featnames".length());
+            int egoNodeId = Integer.parseInt(prefix.substring(prefix.lastIndexOf('/') + 1));
+
+            List<Integer> featureIds = new ArrayList<>();
+            for (String line : lines(entries.get(name))) {
+                featureIds.add(Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1)));
+            }
+
+            for (String line : lines(entries.get(prefix + ".feat"))) {
+                String[] values = line.split(" ");
+                addFeatures(features, Integer.parseInt(values[0]), values, 1, featureIds);
+            }
+            for (String line : lines(entries.get(prefix + ".egofeat"))) {
+                addFeatures(features, egoNodeId, line.split(" "), 0, featureIds);
+            }
+
+            for (String line : lines(entries.get(prefix + ".circles"))) {
+                String[] values = line.split("\t");
+                int[] members = new int[values.length - 1];
+                for (int i = 1; i < values.length; i++) {
+                    members[i - 1] = Integer.parseInt(values[i]);
+                }
+                circles.put(String.format("%d:%s", egoNodeId, values[0]), members);
+            }
+        }
+
+        Map<Integer, int[]> featureVectors = new TreeMap<>();
+        for (Map.Entry<Integer, Set<Integer>> entry : features.entrySet()) {
+            featureVectors.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).sorted().toArray());
+        }
+
+        return new EgoNetworkProfiles(featureVectors, circles);
+    }
+
+    private static void addFeatures(Map<Integer, Set<Integer>> features, int nodeId, String[] values, int offset, List<Integer> featureIds) {
+        Set<Integer> nodeFeatures = features.computeIfAbsent(nodeId, key -> new HashSet<>());
+        for (int i = offset; i < values.length; i++) {
+            if ("1".equals(values[i])) {
+                nodeFeatures.add(featureIds.get(i - offset));
+            }
+        }
+    }
+
+    private static List<String> lines(String content) {
+        List<String> lines = new ArrayList<>();
+        if (content == null) {
+            return lines;
+        }
+
+        for (String line : content.split("\n")) {
+            if (!line.trim().isEmpty()) {
+                lines.add(line.trim());
+            }
+        }
+
+        return lines;
+    }
+
+    private static Map<String, String> readTarEntries(InputStream in) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        DataInputStream data = new DataInputStream(in);
+        byte[] header = new byte[TAR_BLOCK_SIZE];
+
+        while (true) {
+            data.readFully(header);
+            String name = readString(header, 0, 100);
+            if (name.isEmpty()) {
+                break;
+            }
+
+            long size = Long.parseLong(readString(header, 124, 12).trim(), 8);
+            byte[] content = new byte[(int) size];
+            data.readFully(content);
+            long padding = (TAR_BLOCK_SIZE - size % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE;
+            data.skipBytes((int) padding);
+
+            if (header[156] == '0' || header[156] == 0) {
+                entries.put(name, new String(content, StandardCharsets.UTF_8));
+            }
+        }
+
+        return entries;
+    }
+
+    private static String readString(byte[] buffer, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && buffer[end] != 0) {
+            end++;
+        }
+
+        return new String(buffer, offset, end - offset, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,73 @@
+package com.graphdatabases.benchmark.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Recursive matrix (R-MAT) edge generator. Edges are drawn from a seeded random stream, so every pass over the
+ * source yields the same edges without keeping any of them in memory. Self loops are redrawn; duplicate edges,
+ * which R-MAT produces around its hubs, are emitted as is.
+ */
+public class RmatGenerator implements EdgeSource {
+
+    private static final double A = 0.57;
+    private static final double B = 0.19;
+    private static final double C = 0.19;
+
+    private final String name;
+    private final int nodeCount;
+    private final long edgeCount;
+    private final long seed;
+    private final int levels;
+
+    public RmatGenerator(String name, int nodeCount, long edgeCount, long seed) {
+        this.name = name;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.seed = seed;
+        this.levels = 32 - Integer.numberOfLeadingZeros(Math.max(nodeCount - 1, 1));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void forEach(EdgeConsumer consumer) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (long i = 0; i < edgeCount; i++) {
+            int source;
+            int target;
+            do {
+                source = 0;
+                target = 0;
+                for (int level = 0; level < levels; level++) {
+                    double p = random.nextDouble();
+                    source <<= 1;
+                    target <<= 1;
+                    if (p < A) {
+                        continue;
+                    }
+                    if (p < A + B) {
+                        target |= 1;
+                    } else if (p < A + B + C) {
+                        source |= 1;
+                    } else {
+                        source |= 1;
+                        target |= 1;
+                    }
+                }
+            } while (source >= nodeCount || target >= nodeCount || source == target);
+
+            consumer.accept(source, target);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.graphdatabases.benchmark.dataset;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+public final class SyntheticGraphs {
+
+    public static final int FACEBOOK_NODE_COUNT = 4039;
+    public static final int FACEBOOK_EDGE_COUNT = 88234;
+
+    /**
+     * Part of every cache key, bump it whenever a generator changes the edges it produces for the same parameters.
+     */
+    private static final int GENERATOR_VERSION = 1;
+
+    private static final int FACEBOOK_EDGES_PER_NODE = Math.round((float) FACEBOOK_EDGE_COUNT / FACEBOOK_NODE_COUNT);
+
+    private SyntheticGraphs() {
+    }
+
+    /**
+     * Creates a generator with the node and edge counts of the Facebook dataset multiplied by {@code scale}. Its
+     * edges are generated on the first replay and replayed from the {@link EdgeCache} afterwards.
+     */
+    public static EdgeSource create(String model, int scale, long seed) {
+        String name = String.format("%s-%dx", model, scale);
+        EdgeSource generator;
+        String parameters;
+        switch (model) {
+            case "rmat":
+                generator = new RmatGenerator(name, FACEBOOK_NODE_COUNT * scale, (long) FACEBOOK_EDGE_COUNT * scale, seed);
+                parameters = String.format("nodes=%d,edges=%d", FACEBOOK_NODE_COUNT * scale, (long) FACEBOOK_EDGE_COUNT * scale);
+                break;
+            case "ba":
+                generator = new BarabasiAlbertGenerator(name, (long) FACEBOOK_EDGE_COUNT * scale, FACEBOOK_EDGES_PER_NODE, seed);
+                parameters = String.format("edges=%d,edgesPerNode=%d", (long) FACEBOOK_EDGE_COUNT * scale, FACEBOOK_EDGES_PER_NODE);
+                break;
+            default:
+                throw new BenchmarkException(String.format("Unknown graph generator: %s", model));
+        }
+
+        // generated edges have no modification time, so the key has to capture everything they depend on
+        String key = String.format("%s-seed%d-v%d-%08x", name, seed, GENERATOR_VERSION, parameters.hashCode());
+        return new EdgeSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void forEach(EdgeConsumer consumer) {
+                EdgeCache.of(generator, key, 0).forEach(consumer);
+            }
+        };
+    }
+}
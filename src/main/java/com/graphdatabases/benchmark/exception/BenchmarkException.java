@@ -9,4 +9,8 @@ public class BenchmarkException extends RuntimeException {
         super(message);
     }
 
+    public BenchmarkException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
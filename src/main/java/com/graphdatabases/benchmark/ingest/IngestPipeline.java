@@ -0,0 +1,208 @@
+package com.graphdatabases.benchmark.ingest;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Loads an edge source with one reader and several writer threads. The reader streams the source and hands batches
+ * to bounded per-writer queues, so a slow database holds the reader back instead of buffering the whole dataset.
+ * Nodes are created in a first pass and edges in a second one, which lets concurrent writers never race to create
+ * the same node. Work is partitioned by node id, so all edges leaving a node go through the same writer and
+ * writers only contend on the target side. Every batch is one transaction and is retried as a whole when the engine
+ * reports a transient conflict.
+ */
+public class IngestPipeline {
+
+    private static final int MAX_RETRIES = 10;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final GraphEngine engine;
+    private final int writerCount;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    public IngestPipeline(GraphEngine engine, int writerCount, int batchSize, int queueCapacity) {
+        if (writerCount < 1 || batchSize < 1 || queueCapacity < 1) {
+            throw new BenchmarkException(String.format("Invalid ingest pipeline: %d writers, batches of %d, queues of %d", writerCount, batchSize, queueCapacity));
+        }
+
+        this.engine = engine;
+        this.writerCount = writerCount;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public List<IngestStatistics> run(EdgeSource source) {
+        List<IngestStatistics> statistics = new ArrayList<>();
+        statistics.add(runPhase("nodes", source, true));
+        statistics.add(runPhase("relationships", source, false));
+
+        return statistics;
+    }
+
+    private IngestStatistics runPhase(String phase, EdgeSource source, boolean nodes) {
+        IngestStatistics statistics = new IngestStatistics(phase, writerCount);
+        List<BlockingQueue<Batch>> queues = new ArrayList<>();
+        List<Future<?>> writers = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount);
+
+        long start = System.nanoTime();
+        try {
+            for (int writer = 0; writer < writerCount; writer++) {
+                BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+                queues.add(queue);
+                int partition = writer;
+                writers.add(executor.submit(() -> write(partition, queue, nodes, statistics)));
+            }
+
+            Reader reader = new Reader(queues, writers, !nodes);
+            if (nodes) {
+                BitSet seen = new BitSet();
+                source.forEach((sourceNodeId, targetNodeId) -> {
+                    for (int nodeId : new int[]{sourceNodeId, targetNodeId}) {
+                        if (!seen.get(nodeId)) {
+                            seen.set(nodeId);
+                            reader.add(nodeId, nodeId, 0);
+                        }
+                    }
+                });
+            } else {
+                source.forEach((sourceNodeId, targetNodeId) -> reader.add(sourceNodeId, sourceNodeId, targetNodeId));
+            }
+            reader.finish();
+            statistics.recordRead(reader.items, reader.blockedNanos);
+
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException(String.format("Ingest of %s interrupted.", phase), e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Ingest of %s failed. Message: %s", phase, e.getCause().getMessage()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        statistics.recordElapsed(System.nanoTime() - start);
+
+        return statistics;
+    }
+
+    private Void write(int writer, BlockingQueue<Batch> queue, boolean nodes, IngestStatistics statistics) throws InterruptedException {
+        while (true) {
+            Batch batch = queue.take();
+            if (batch.length < 0) {
+                return null;
+            }
+
+            long start = System.nanoTime();
+            int retries = Retry.run(engine, () -> {
+                if (nodes) {
+                    engine.createNodes(batch.first, batch.length);
+                } else {
+                    engine.createRelationships(batch.first, batch.second, batch.length);
+                }
+            }, MAX_RETRIES);
+            statistics.recordBatch(writer, batch.length, retries, System.nanoTime() - start);
+        }
+    }
+
+    private static class Batch {
+
+        final int[] first;
+        final int[] second;
+        int length;
+
+        Batch(int capacity, boolean pairs) {
+            first = new int[capacity];
+            second = pairs ? new int[capacity] : null;
+        }
+    }
+
+    /**
+     * The reader stage. It runs on the calling thread and fills one pending batch per partition.
+     */
+    private class Reader {
+
+        private final List<BlockingQueue<Batch>> queues;
+        private final List<Future<?>> writers;
+        private final Batch[] pending;
+        private final boolean pairs;
+
+        long items;
+        long blockedNanos;
+
+        Reader(List<BlockingQueue<Batch>> queues, List<Future<?>> writers, boolean pairs) {
+            this.queues = queues;
+            this.writers = writers;
+            this.pending = new Batch[queues.size()];
+            this.pairs = pairs;
+        }
+
+        void add(int partitionKey, int first, int second) {
+            int partition = Math.floorMod(partitionKey, pending.length);
+            Batch batch = pending[partition];
+            if (batch == null) {
+                batch = new Batch(batchSize, pairs);
+                pending[partition] = batch;
+            }
+
+            batch.first[batch.length] = first;
+            if (pairs) {
+                batch.second[batch.length] = second;
+            }
+            batch.length++;
+            items++;
+
+            if (batch.length == batchSize) {
+                pending[partition] = null;
+                put(partition, batch);
+            }
+        }
+
+        void finish() {
+            for (int partition = 0; partition < pending.length; partition++) {
+                if (pending[partition] != null) {
+                    put(partition, pending[partition]);
+                    pending[partition] = null;
+                }
+
+                Batch end = new Batch(0, false);
+                end.length = -1;
+                put(partition, end);
+            }
+        }
+
+        private void put(int partition, Batch batch) {
+            BlockingQueue<Batch> queue = queues.get(partition);
+            if (queue.offer(batch)) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                // a writer that failed stops draining its queue, so the reader checks on it instead of blocking forever
+                while (!queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    Future<?> writer = writers.get(partition);
+                    if (writer.isDone()) {
+                        writer.get();
+                        throw new BenchmarkException(String.format("Writer %d stopped before the end of its input.", partition));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BenchmarkException("Ingest reader interrupted.", e);
+            } catch (ExecutionException e) {
+                throw new BenchmarkException(String.format("Writer %d failed. Message: %s", partition, e.getCause().getMessage()), e.getCause());
+            } finally {
+                blockedNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.graphdatabases.benchmark.ingest;
+
+/**
+ * Counters of one ingest phase: what the reader stage produced and how long it was held back by full queues, and
+ * what every writer stage committed, in how many batches and with how many retried transactions.
+ */
+public class IngestStatistics {
+
+    private final String phase;
+    private final long[] writtenItems;
+    private final long[] writtenBatches;
+    private final long[] retries;
+    private final long[] writeNanos;
+
+    private long readItems;
+    private long readerBlockedNanos;
+    private long elapsedNanos;
+
+    IngestStatistics(String phase, int writerCount) {
+        this.phase = phase;
+        this.writtenItems = new long[writerCount];
+        this.writtenBatches = new long[writerCount];
+        this.retries = new long[writerCount];
+        this.writeNanos = new long[writerCount];
+    }
+
+    void recordRead(long items, long blockedNanos) {
+        readItems = items;
+        readerBlockedNanos = blockedNanos;
+    }
+
+    void recordBatch(int writer, int items, int batchRetries, long nanos) {
+        writtenItems[writer] += items;
+        writtenBatches[writer]++;
+        retries[writer] += batchRetries;
+        writeNanos[writer] += nanos;
+    }
+
+    void recordElapsed(long nanos) {
+        elapsedNanos = nanos;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public long getReadItems() {
+        return readItems;
+    }
+
+    public long getWrittenItems() {
+        long total = 0;
+        for (long items : writtenItems) {
+            total += items;
+        }
+
+        return total;
+    }
+
+    public long getRetries() {
+        long total = 0;
+        for (long count : retries) {
+            total += count;
+        }
+
+        return total;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getWrittenItems() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%s: %d items in %d ms (%.1f items/s), %d retries", phase, getWrittenItems(), getElapsedMillis(), getThroughput(), getRetries()));
+        builder.append(String.format("%n  reader: %d items, blocked on full queues for %d ms", readItems, readerBlockedNanos / 1_000_000));
+        for (int writer = 0; writer < writtenItems.length; writer++) {
+            double throughput = writeNanos[writer] == 0 ? 0 : writtenItems[writer] * 1e9 / writeNanos[writer];
+            builder.append(String.format("%n  writer %d: %d items in %d batches, %d retries, busy %d ms (%.1f items/s)",
+                    writer, writtenItems[writer], writtenBatches[writer], retries[writer], writeNanos[writer] / 1_000_000, throughput));
+        }
+
+        return builder.toString();
+    }
+}
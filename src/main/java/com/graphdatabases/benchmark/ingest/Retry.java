@@ -0,0 +1,36 @@
+package com.graphdatabases.benchmark.ingest;
+
+import com.graphdatabases.benchmark.GraphEngine;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Repeats a write that failed with a transient conflict. Backoff is randomized so that writers which deadlocked on
+ * each other do not collide again on the next attempt.
+ */
+public final class Retry {
+
+    private static final int MAX_BACKOFF_SHIFT = 8;
+
+    private Retry() {
+    }
+
+    /**
+     * Runs the write until it succeeds and returns how many times it had to be retried.
+     */
+    public static int run(GraphEngine engine, Runnable write, int maxRetries) throws InterruptedException {
+        int retries = 0;
+        while (true) {
+            try {
+                write.run();
+                return retries;
+            } catch (RuntimeException e) {
+                if (!engine.isRetryable(e) || retries == maxRetries) {
+                    throw e;
+                }
+                retries++;
+                Thread.sleep(ThreadLocalRandom.current().nextInt(1 << Math.min(retries, MAX_BACKOFF_SHIFT)));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.graphdatabases.benchmark.jfr;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Flight recorder events and recordings of benchmark runs. The implementation uses the {@code jdk.jfr} API, which
+ * older JVMs lack, so it is only compiled on Java 11 or later and looked up at run time after checking that the
+ * running JVM has a flight recorder.
+ */
+public interface FlightRecorder {
+
+    String IMPLEMENTATION = "com.graphdatabases.benchmark.jfr.JdkFlightRecorder";
+
+    /**
+     * Starts a recording with the JDK "profile" settings that is written to {@code <directory>/<test>.jfr} when it
+     * is stopped.
+     */
+    Recording startRecording(String directory, String testName);
+
+    /**
+     * Begins the event of one measured invocation.
+     */
+    Invocation beginInvocation();
+
+    interface Recording {
+
+        void stop();
+    }
+
+    interface Invocation {
+
+        void end();
+
+        /**
+         * Commits the event unless the recorder settings filter it out.
+         */
+        void commit(String test, String method, int iteration, long latency, long rows);
+    }
+
+    /**
+     * Returns the flight recorder, or {@code null} when the running JVM has none or this build does not include it.
+     */
+    static FlightRecorder load() {
+        try {
+            Class.forName("jdk.jfr.Event");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        try {
+            return (FlightRecorder) Class.forName(IMPLEMENTATION).getConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new BenchmarkException(String.format("Failed to load flight recorder. Message: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Turns the value returned by a benchmark method into a row count for the invocation event.
+     */
+    static long rowsOf(Object result) {
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        } else if (result instanceof Boolean) {
+            return (Boolean) result ? 1 : 0;
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+
+        return -1;
+    }
+}
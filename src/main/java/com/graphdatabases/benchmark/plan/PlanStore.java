@@ -0,0 +1,52 @@
+package com.graphdatabases.benchmark.plan;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Keeps the plans of the latest run of a benchmark test on disk, one file per benchmark method, so the next run can
+ * tell whether an engine changed its mind.
+ */
+public class PlanStore {
+
+    private final Path directory;
+
+    public PlanStore(String directory, String testName) {
+        this.directory = Paths.get(directory, testName.replaceAll("[^A-Za-z0-9._-]+", "_"));
+    }
+
+    /**
+     * Returns the plans stored by the previous run, or null if there was none.
+     */
+    public String load(String benchmark) {
+        Path file = fileOf(benchmark);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to read query plans from %s.", file), e);
+        }
+    }
+
+    public void save(String benchmark, String plans) {
+        Path file = fileOf(benchmark);
+        try {
+            Files.createDirectories(directory);
+            Files.write(file, plans.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to write query plans to %s.", file), e);
+        }
+    }
+
+    private Path fileOf(String benchmark) {
+        return directory.resolve(benchmark + ".plan");
+    }
+}
@@ -0,0 +1,38 @@
+package com.graphdatabases.benchmark.plan;
+
+/**
+ * The plan an engine chose for one query, rendered as text without cost estimates so that plans of different runs
+ * can be compared verbatim.
+ */
+public class QueryPlan {
+
+    private final String query;
+    private final String plan;
+    private final boolean indexed;
+
+    public QueryPlan(String query, String plan, boolean indexed) {
+        this.query = query;
+        this.plan = plan;
+        this.indexed = indexed;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    /**
+     * Whether any step of the plan looks values up in an index instead of scanning.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%n%s", query, plan);
+    }
+}
@@ -0,0 +1,62 @@
+package com.graphdatabases.benchmark.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the plans of the queries an engine sends while one benchmark invocation runs on the current thread.
+ * Engines ask for a plan (EXPLAIN or PROFILE) only while a capture is active, so regular invocations pay nothing.
+ */
+public final class QueryPlans {
+
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    private QueryPlans() {
+    }
+
+    public static void start() {
+        CAPTURE.set(new Capture());
+    }
+
+    public static Capture stop() {
+        Capture capture = CAPTURE.get();
+        CAPTURE.remove();
+
+        return capture;
+    }
+
+    public static boolean isCapturing() {
+        return CAPTURE.get() != null;
+    }
+
+    public static void record(String query, String plan, boolean indexed) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.plans.add(new QueryPlan(query, plan, indexed));
+        }
+    }
+
+    /**
+     * Records time spent on requests made only to obtain plans, which is excluded from the measurement.
+     */
+    public static void recordOverhead(long nanos) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.overheadNanos += nanos;
+        }
+    }
+
+    public static class Capture {
+
+        private final List<QueryPlan> plans = new ArrayList<>();
+        private long overheadNanos;
+
+        public List<QueryPlan> getPlans() {
+            return plans;
+        }
+
+        public long getOverheadNanos() {
+            return overheadNanos;
+        }
+    }
+}
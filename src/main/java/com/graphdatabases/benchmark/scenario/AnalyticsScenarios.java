@@ -0,0 +1,234 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.BenchmarkTest;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.annotation.Benchmark;
+import com.graphdatabases.benchmark.annotation.Setup;
+import com.graphdatabases.benchmark.annotation.TearDown;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+public class AnalyticsScenarios {
+
+    private static final int SAMPLE_SIZE = 10;
+    private static final long SAMPLE_SEED = 42L;
+    private static final int PAGE_RANK_ITERATIONS = 20;
+    private static final double PAGE_RANK_DAMPING_FACTOR = 0.85;
+    private static final int PAGE_RANK_TOP_NODES = 10;
+    private static final int MAX_REACHABLE_DEPTH = 5;
+
+    private final GraphEngine engine;
+    private final MethodHandle currentThreadAllocatedBytes = currentThreadAllocatedBytes();
+    private final Map<String, List<Long>> allocatedBytes = new LinkedHashMap<>();
+    private final List<String> mismatches = new ArrayList<>();
+
+    private ReferenceGraph referenceGraph;
+    private int[][] samplePairs;
+    private int sampleIndex;
+
+    // reference results, computed once so the timed methods only compare
+    private int[] expectedPathLengths;
+    private int[][] expectedReachableNodes;
+    private long expectedTriangles;
+    private int expectedConnectedComponents;
+    private Set<Integer> expectedTopRankedNodes;
+
+    public AnalyticsScenarios(GraphEngine engine) {
+        this.engine = engine;
+    }
+
+    @Setup
+    public void setup() {
+        EdgeListFile dataset = EdgeListFile.facebook();
+
+        System.out.println("Initializing database driver.");
+        engine.open();
+
+        System.out.println("Cleaning database.");
+        engine.clean();
+
+        System.out.println("Creating schema.");
+        engine.createSchema();
+
+        System.out.println("Setting initial data.");
+        engine.load(dataset);
+
+        System.out.println("Computing reference graph.");
+        referenceGraph = ReferenceGraph.build(dataset);
+
+        int[] nodeIds = referenceGraph.getNodeIds();
+        Random random = new Random(SAMPLE_SEED);
+        samplePairs = new int[SAMPLE_SIZE][];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            int source = nodeIds[random.nextInt(nodeIds.length)];
+            int target;
+            do {
+                target = nodeIds[random.nextInt(nodeIds.length)];
+            } while (target == source);
+            samplePairs[i] = new int[]{source, target};
+        }
+
+        System.out.println("Computing reference results.");
+        expectedPathLengths = new int[SAMPLE_SIZE];
+        expectedReachableNodes = new int[MAX_REACHABLE_DEPTH + 1][SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            expectedPathLengths[i] = referenceGraph.findShortestPathLength(samplePairs[i][0], samplePairs[i][1]);
+            for (int depth = 1; depth <= MAX_REACHABLE_DEPTH; depth++) {
+                expectedReachableNodes[depth][i] = referenceGraph.countReachableNodes(samplePairs[i][0], depth);
+            }
+        }
+        expectedTriangles = referenceGraph.countTriangles();
+        expectedConnectedComponents = referenceGraph.countConnectedComponents();
+        expectedTopRankedNodes = ReferenceGraph.findTopRankedNodes(referenceGraph.computePageRank(PAGE_RANK_ITERATIONS, PAGE_RANK_DAMPING_FACTOR), PAGE_RANK_TOP_NODES);
+    }
+
+    @Benchmark(iteration = SAMPLE_SIZE)
+    public int findShortestPathBetweenSampledNodes() {
+        int index = nextSampleIndex();
+        int[] pair = samplePairs[index];
+        int length = measure("findShortestPathBetweenSampledNodes", () -> engine.findShortestPathLength(pair[0], pair[1]));
+        verify(String.format("shortestPath(%d, %d)", pair[0], pair[1]), expectedPathLengths[index], length);
+
+        return length;
+    }
+
+    @Benchmark(iteration = SAMPLE_SIZE)
+    public int countNodesReachableWithinOneHop() {
+        return countReachableNodes("countNodesReachableWithinOneHop", 1);
+    }
+
+    @Benchmark(iteration = SAMPLE_SIZE)
+    public int countNodesReachableWithinTwoHops() {
+        return countReachableNodes("countNodesReachableWithinTwoHops", 2);
+    }
+
+    @Benchmark(iteration = SAMPLE_SIZE)
+    public int countNodesReachableWithinThreeHops() {
+        return countReachableNodes("countNodesReachableWithinThreeHops", 3);
+    }
+
+    @Benchmark(iteration = SAMPLE_SIZE)
+    public int countNodesReachableWithinFourHops() {
+        return countReachableNodes("countNodesReachableWithinFourHops", 4);
+    }
+
+    @Benchmark(iteration = SAMPLE_SIZE)
+    public int countNodesReachableWithinFiveHops() {
+        return countReachableNodes("countNodesReachableWithinFiveHops", 5);
+    }
+
+    @Benchmark(iteration = 3)
+    public long countTriangles() {
+        long count = measure("countTriangles", engine::countTriangles);
+        verify("triangles", expectedTriangles, count);
+
+        return count;
+    }
+
+    @Benchmark(iteration = 3)
+    public int countConnectedComponents() {
+        int count = measure("countConnectedComponents", engine::countConnectedComponents);
+        verify("connectedComponents", expectedConnectedComponents, count);
+
+        return count;
+    }
+
+    @Benchmark(iteration = 3)
+    public Map<Integer, Double> computePageRank() {
+        Map<Integer, Double> ranks = measure("computePageRank", () -> engine.computePageRank(PAGE_RANK_ITERATIONS, PAGE_RANK_DAMPING_FACTOR));
+        verify("pageRankTopNodes", expectedTopRankedNodes, ReferenceGraph.findTopRankedNodes(ranks, PAGE_RANK_TOP_NODES));
+
+        return ranks;
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Map.Entry<String, List<Long>> entry : allocatedBytes.entrySet()) {
+            System.out.println(String.format("%s: Allocated bytes - %s", entry.getKey(), entry.getValue()));
+        }
+
+        if (mismatches.isEmpty()) {
+            System.out.println("All results match the reference computation.");
+        } else {
+            System.out.println(String.format("Results differing from the reference computation: %s", mismatches));
+        }
+
+        engine.close();
+    }
+
+    private int countReachableNodes(String name, int depth) {
+        int index = nextSampleIndex();
+        int nodeId = samplePairs[index][0];
+        int count = measure(name, () -> engine.countReachableNodes(nodeId, depth));
+        verify(String.format("reachable(%d, %d)", nodeId, depth), expectedReachableNodes[depth][index], count);
+
+        return count;
+    }
+
+    private int nextSampleIndex() {
+        return sampleIndex++ % samplePairs.length;
+    }
+
+    private <T> T measure(String name, Supplier<T> operation) {
+        long before = allocatedBytesOfCurrentThread();
+        T result = operation.get();
+        long after = allocatedBytesOfCurrentThread();
+
+        allocatedBytes.computeIfAbsent(name, key -> new ArrayList<>()).add(after - before);
+
+        return result;
+    }
+
+    private long allocatedBytesOfCurrentThread() {
+        try {
+            return (long) currentThreadAllocatedBytes.invokeExact();
+        } catch (Throwable e) {
+            throw new BenchmarkException(String.format("Failed to read allocated bytes. Message: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Looks up getCurrentThreadAllocatedBytes, which arrived with Java 14, and falls back to the allocated bytes of
+     * the current thread id on older JVMs. Both are found by name, as Thread.getId is deprecated since Java 19.
+     */
+    private static MethodHandle currentThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            try {
+                return lookup.findVirtual(com.sun.management.ThreadMXBean.class, "getCurrentThreadAllocatedBytes", MethodType.methodType(long.class)).bindTo(threadMXBean);
+            } catch (NoSuchMethodException e) {
+                MethodHandle threadAllocatedBytes = lookup.findVirtual(com.sun.management.ThreadMXBean.class, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class)).bindTo(threadMXBean);
+                MethodHandle threadId = lookup.findVirtual(Thread.class, "getId", MethodType.methodType(long.class));
+                MethodHandle currentThread = lookup.findStatic(Thread.class, "currentThread", MethodType.methodType(Thread.class));
+                return MethodHandles.filterReturnValue(MethodHandles.filterReturnValue(currentThread, threadId), threadAllocatedBytes);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new BenchmarkException(String.format("Failed to look up allocated bytes of threads. Message: %s", e.getMessage()), e);
+        }
+    }
+
+    private void verify(String name, Object expected, Object actual) {
+        if (!expected.equals(actual)) {
+            String mismatch = String.format("%s expected %s but was %s", name, expected, actual);
+            System.out.println(String.format("Result mismatch: %s", mismatch));
+            mismatches.add(mismatch);
+        }
+    }
+
+    public static void main(String[] args) {
+        for (GraphEngine engine : GraphEngines.load()) {
+            BenchmarkTest benchmarkTest = new BenchmarkTest(String.format("%s: %s", engine.getName(), AnalyticsScenarios.class.getName()), new AnalyticsScenarios(engine));
+            benchmarkTest.run();
+        }
+    }
+}
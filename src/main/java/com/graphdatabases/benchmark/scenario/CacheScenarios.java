@@ -0,0 +1,126 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.Direction;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.statistics.SampleStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read latency on the Facebook graph in a cold and a warm phase. In the cold phase the caches are dropped before
+ * every sample, so each sample is the first touch of the query after a restart, connection setup included. In the
+ * warm phase the whole graph is read first, so the samples show the engine with everything in memory.
+ */
+public class CacheScenarios {
+
+    public static final String COLD_RUNS_PROPERTY = "benchmark.cache.coldRuns";
+    public static final String WARMUP_PASSES_PROPERTY = "benchmark.cache.warmupPasses";
+    public static final String WARM_RUNS_PROPERTY = "benchmark.cache.warmRuns";
+
+    private final GraphEngine engine;
+    private final Dataset dataset;
+    private final Map<String, Runnable> queries = new LinkedHashMap<>();
+
+    public CacheScenarios(GraphEngine engine, Dataset dataset) {
+        this.engine = engine;
+        this.dataset = dataset;
+
+        queries.put("findNode", () -> engine.findNode(dataset.getMostConnectedNodeId()));
+        queries.put("findFriendsOfLeastConnectedNode", () -> engine.findNeighbors(dataset.getLeastConnectedNodeId(), 1));
+        queries.put("findFriendsOfMostConnectedNode", () -> engine.findNeighbors(dataset.getMostConnectedNodeId(), 1));
+        queries.put("findFriendsOfFriendsOfMostConnectedNode", () -> engine.findNeighbors(dataset.getMostConnectedNodeId(), 2));
+        queries.put("findNodeWithMostIngoingAndOutgoingEdges", () -> engine.findNodeWithMostEdges(Direction.BOTH));
+    }
+
+    public void setup() {
+        System.out.println("Initializing database driver.");
+        engine.open();
+
+        System.out.println("Cleaning database.");
+        engine.clean();
+
+        System.out.println("Creating schema.");
+        engine.createSchema();
+
+        System.out.println("Setting initial data.");
+        new IngestPipeline(engine, 1, 1000, 16).run(dataset.getSource());
+    }
+
+    /**
+     * Times every query {@code runs} times, dropping the caches before each run.
+     */
+    public Map<String, SampleStatistics> measureCold(int runs) {
+        Map<String, SampleStatistics> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            long[] nanos = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                engine.dropCaches();
+                nanos[run] = time(query.getValue());
+            }
+            results.put(query.getKey(), SampleStatistics.of(nanos, runs));
+        }
+
+        return results;
+    }
+
+    /**
+     * Reads the whole graph {@code passes} times, then times every query {@code runs} times.
+     */
+    public Map<String, SampleStatistics> measureWarm(int passes, int runs) {
+        for (int pass = 0; pass < passes; pass++) {
+            engine.warmUp();
+        }
+
+        Map<String, SampleStatistics> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            long[] nanos = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                nanos[run] = time(query.getValue());
+            }
+            results.put(query.getKey(), SampleStatistics.of(nanos, runs));
+        }
+
+        return results;
+    }
+
+    private long time(Runnable query) {
+        long begin = System.nanoTime();
+        query.run();
+
+        return System.nanoTime() - begin;
+    }
+
+    public void tearDown() {
+        engine.close();
+    }
+
+    public static void main(String[] args) {
+        int coldRuns = Integer.getInteger(COLD_RUNS_PROPERTY, 5);
+        int warmupPasses = Integer.getInteger(WARMUP_PASSES_PROPERTY, 1);
+        int warmRuns = Integer.getInteger(WARM_RUNS_PROPERTY, 50);
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            CacheScenarios scenarios = new CacheScenarios(engine, Dataset.facebook());
+            scenarios.setup();
+            try {
+                System.out.println(String.format("%s: Cold phase, caches dropped before each of %d runs.", engine.getName(), coldRuns));
+                Map<String, SampleStatistics> cold = scenarios.measureCold(coldRuns);
+
+                System.out.println(String.format("%s: Warm phase, %d warm-up passes over the graph and %d runs.", engine.getName(), warmupPasses, warmRuns));
+                Map<String, SampleStatistics> warm = scenarios.measureWarm(warmupPasses, warmRuns);
+
+                for (String query : cold.keySet()) {
+                    System.out.println(String.format("%s: %s cold - %s", engine.getName(), query, cold.get(query)));
+                    System.out.println(String.format("%s: %s warm - %s", engine.getName(), query, warm.get(query)));
+                    System.out.println(String.format("%s: %s cold/warm median ratio - %.1fx", engine.getName(), query, cold.get(query).getMedian() / warm.get(query).getMedian()));
+                }
+            } finally {
+                scenarios.tearDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.churn.ChurnGenerator;
+import com.graphdatabases.benchmark.churn.ChurnRunner;
+import com.graphdatabases.benchmark.churn.EdgeEvent;
+import com.graphdatabases.benchmark.churn.EdgeEventFile;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.storage.StorageFootprint;
+import com.graphdatabases.benchmark.workload.TargetSelector;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long running edge churn on the Facebook graph. The stream is generated unless a recorded one is given, and the
+ * drift of write latency, read latency and store size between the first and the last window is reported.
+ */
+public class ChurnScenarios {
+
+    public static final String EVENTS_PROPERTY = "benchmark.churn.events";
+    public static final String RATE_PROPERTY = "benchmark.churn.rate";
+    public static final String DELETE_RATIO_PROPERTY = "benchmark.churn.deleteRatio";
+    public static final String DURATION_PROPERTY = "benchmark.churn.durationSeconds";
+    public static final String WINDOW_PROPERTY = "benchmark.churn.windowSeconds";
+    public static final String PROBE_THREADS_PROPERTY = "benchmark.churn.probeThreads";
+
+    public static void main(String[] args) {
+        String eventsPath = System.getProperty(EVENTS_PROPERTY);
+        double rate = Double.parseDouble(System.getProperty(RATE_PROPERTY, "100"));
+        double deleteRatio = Double.parseDouble(System.getProperty(DELETE_RATIO_PROPERTY, "0.5"));
+        long durationMillis = TimeUnit.SECONDS.toMillis(Long.getLong(DURATION_PROPERTY, 600L));
+        long windowMillis = TimeUnit.SECONDS.toMillis(Long.getLong(WINDOW_PROPERTY, 10L));
+        int probeThreads = Integer.getInteger(PROBE_THREADS_PROPERTY, 2);
+        long seed = Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L);
+
+        EdgeListFile dataset = EdgeListFile.facebook();
+        int[] nodeIds = ReferenceGraph.build(dataset).getNodeIds();
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            StorageFootprint.Memory memoryBaseline = StorageFootprint.Memory.snapshot();
+
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                System.out.println("Cleaning database.");
+                engine.clean();
+
+                System.out.println("Creating schema.");
+                engine.createSchema();
+
+                System.out.println("Setting initial data.");
+                new IngestPipeline(engine, 1, 1000, 16).run(dataset);
+                System.out.println(String.format("%s: Storage footprint after ingest - %s", engine.getName(), StorageFootprint.measure(engine, memoryBaseline)));
+
+                Iterator<EdgeEvent> events = eventsPath != null
+                        ? EdgeEventFile.read(eventsPath)
+                        : new ChurnGenerator(dataset, nodeIds, rate, deleteRatio, seed);
+
+                System.out.println(String.format("%s: Replaying edge churn for %d s.", engine.getName(), TimeUnit.MILLISECONDS.toSeconds(durationMillis)));
+                List<ChurnRunner.Sample> samples = new ChurnRunner(engine, events, TargetSelector.uniform(nodeIds), probeThreads, durationMillis, windowMillis, seed).run();
+
+                if (samples.size() > 2) {
+                    ChurnRunner.Sample first = samples.get(1);
+                    ChurnRunner.Sample last = samples.get(samples.size() - 1);
+                    System.out.println(String.format("%s: Write p99 drift - %d us to %d us", engine.getName(), first.getWritePercentileMicros(99), last.getWritePercentileMicros(99)));
+                    System.out.println(String.format("%s: Read p99 drift - %d us to %d us", engine.getName(), first.getReadPercentileMicros(99), last.getReadPercentileMicros(99)));
+                    System.out.println(String.format("%s: Store size drift - %d bytes to %d bytes", engine.getName(), samples.get(0).getStoreSize(), last.getStoreSize()));
+                }
+                System.out.println(String.format("%s: Storage footprint after churn - %s", engine.getName(), StorageFootprint.measure(engine, memoryBaseline)));
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
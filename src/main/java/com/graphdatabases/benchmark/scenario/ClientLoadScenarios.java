@@ -0,0 +1,71 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.workload.ClientLoadDriver;
+import com.graphdatabases.benchmark.workload.TargetSelector;
+import com.graphdatabases.benchmark.workload.WorkloadMix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput and latency of the Facebook graph under growing numbers of concurrent clients, each running on a
+ * virtual thread or queued on a fixed platform thread pool. Virtual thread runs also report where the drivers pinned
+ * their carrier threads. Virtual threads need the {@code java21} build profile and a Java 21 JVM.
+ */
+public class ClientLoadScenarios {
+
+    public static final String CLIENTS_PROPERTY = "benchmark.load.clients";
+    public static final String OPERATIONS_PROPERTY = "benchmark.load.operationsPerClient";
+    public static final String THREADS_PROPERTY = "benchmark.load.threads";
+    public static final String PLATFORM_THREADS_PROPERTY = "benchmark.load.platformThreads";
+
+    public static void main(String[] args) {
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty(WorkloadScenarios.MIX_PROPERTY, "oneHop:90,update:10"));
+        String distribution = System.getProperty(WorkloadScenarios.DISTRIBUTION_PROPERTY, "zipfian");
+        int operationsPerClient = Integer.getInteger(OPERATIONS_PROPERTY, 10);
+        int platformThreads = Integer.getInteger(PLATFORM_THREADS_PROPERTY, 64);
+        long seed = Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L);
+
+        List<Integer> clientCounts = new ArrayList<>();
+        for (String clients : System.getProperty(CLIENTS_PROPERTY, "100,1000,10000").split(",")) {
+            clientCounts.add(Integer.parseInt(clients.trim()));
+        }
+        List<ClientLoadDriver.Threads> threadModes = new ArrayList<>();
+        for (String threads : System.getProperty(THREADS_PROPERTY, "platform,virtual").split(",")) {
+            threadModes.add(ClientLoadDriver.Threads.valueOf(threads.trim().toUpperCase()));
+        }
+
+        EdgeListFile dataset = EdgeListFile.facebook();
+        TargetSelector selector = TargetSelector.of(distribution, ReferenceGraph.build(dataset), seed);
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                System.out.println("Cleaning database.");
+                engine.clean();
+
+                System.out.println("Creating schema.");
+                engine.createSchema();
+
+                System.out.println("Setting initial data.");
+                new IngestPipeline(engine, 1, 1000, 16).run(dataset);
+
+                ClientLoadDriver driver = new ClientLoadDriver(engine, mix, selector, operationsPerClient, seed);
+                for (Integer clients : clientCounts) {
+                    for (ClientLoadDriver.Threads threads : threadModes) {
+                        ClientLoadDriver.Result result = driver.run(clients, threads, platformThreads);
+                        System.out.println(String.format("%s: Client load - %s", engine.getName(), result));
+                    }
+                }
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
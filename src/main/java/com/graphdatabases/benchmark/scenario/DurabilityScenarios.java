@@ -0,0 +1,129 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.BenchmarkTest;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.WriteMode;
+import com.graphdatabases.benchmark.annotation.Benchmark;
+import com.graphdatabases.benchmark.annotation.Level;
+import com.graphdatabases.benchmark.annotation.Setup;
+import com.graphdatabases.benchmark.annotation.TearDown;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.statistics.SampleStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The write benchmarks on the Facebook graph under each write mode of a matrix: sync on commit or not, explicit
+ * transactions or not, and bookmarks chained for read-your-writes. The graph is loaded again for every mode, and the
+ * results are labelled with the mode the engine actually ran, which differs from the requested one where the engine
+ * cannot apply a setting from the client.
+ */
+public class DurabilityScenarios {
+
+    public static final String MODES_PROPERTY = "benchmark.durability.modes";
+
+    private static final int WRITE_ITERATIONS = 100;
+
+    private final GraphEngine engine;
+    private final Dataset dataset;
+
+    public DurabilityScenarios(GraphEngine engine, Dataset dataset) {
+        this.engine = engine;
+        this.dataset = dataset;
+    }
+
+    @Setup
+    public void setup() {
+        System.out.println("Cleaning database.");
+        engine.clean();
+
+        System.out.println("Creating schema.");
+        engine.createSchema();
+
+        System.out.println("Setting initial data.");
+        new IngestPipeline(engine, 1, 1000, 16).run(dataset.getSource());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 90)
+    public boolean createNode() {
+        return engine.createNode(dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 80)
+    public boolean createRelationship() {
+        return engine.createRelationship(dataset.getMostConnectedNodeId(), dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 70)
+    public boolean updateNode() {
+        return engine.updateNode(dataset.getFirstNewNodeId(), "John", "Doe");
+    }
+
+    /**
+     * An update followed by a read of the same node, the pattern bookmarks exist for.
+     */
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 60)
+    public boolean updateAndReadNode() {
+        return engine.updateNode(dataset.getFirstNewNodeId(), "Jane", "Doe") && engine.findNode(dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 50)
+    public boolean deleteNode() {
+        return engine.deleteNode(dataset.getFirstNewNodeId());
+    }
+
+    @TearDown(level = Level.INVOCATION, benchmarks = "createNode")
+    public void removeNode() {
+        engine.deleteNode(dataset.getFirstNewNodeId());
+    }
+
+    @TearDown(level = Level.ITERATION, benchmarks = "createNode")
+    public void restoreNode() {
+        engine.createNode(dataset.getFirstNewNodeId());
+    }
+
+    @TearDown(level = Level.INVOCATION, benchmarks = "createRelationship")
+    public void removeRelationship() {
+        engine.deleteRelationship(dataset.getMostConnectedNodeId(), dataset.getFirstNewNodeId());
+    }
+
+    @Setup(level = Level.INVOCATION, benchmarks = "deleteNode")
+    public void recreateNode() {
+        if (!engine.findNode(dataset.getFirstNewNodeId())) {
+            engine.createNode(dataset.getFirstNewNodeId());
+        }
+    }
+
+    public static void main(String[] args) {
+        List<WriteMode> modes = WriteMode.parseAll(System.getProperty(MODES_PROPERTY, "async+tx,sync+tx,async+notx,sync+notx,sync+tx+bookmarks"));
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            Map<String, Map<String, SampleStatistics>> summaries = new LinkedHashMap<>();
+
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                for (WriteMode mode : modes) {
+                    WriteMode applied = engine.setWriteMode(mode);
+                    System.out.println(String.format("%s: Write mode %s requested, running %s.", engine.getName(), mode, applied));
+
+                    BenchmarkTest benchmarkTest = new BenchmarkTest(String.format("%s [%s]: %s", engine.getName(), applied, DurabilityScenarios.class.getName()), new DurabilityScenarios(engine, Dataset.facebook()));
+                    benchmarkTest.run();
+                    summaries.put(String.format("%s as %s", mode, applied), benchmarkTest.getSummaries());
+                }
+            } finally {
+                engine.close();
+            }
+
+            for (Map.Entry<String, Map<String, SampleStatistics>> mode : summaries.entrySet()) {
+                for (Map.Entry<String, SampleStatistics> summary : mode.getValue().entrySet()) {
+                    System.out.println(String.format("%s: %s [%s] - %s", engine.getName(), summary.getKey(), mode.getKey(), summary.getValue()));
+                }
+            }
+        }
+    }
+}
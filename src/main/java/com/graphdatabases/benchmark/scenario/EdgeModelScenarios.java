@@ -0,0 +1,108 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.EdgeModel;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.ingest.IngestStatistics;
+import com.graphdatabases.benchmark.statistics.SampleStatistics;
+import com.graphdatabases.benchmark.storage.StorageFootprint;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Loads the Facebook graph with each way of storing a friendship of a list and reports the ingest throughput, the
+ * storage footprint and the traversal latency of every model. The traversal results are checked against the
+ * friendships of the dataset, so a model that is cheaper but answers differently shows up as wrong.
+ */
+public class EdgeModelScenarios {
+
+    public static final String MODELS_PROPERTY = "benchmark.edgeModel.models";
+    public static final String RUNS_PROPERTY = "benchmark.edgeModel.runs";
+
+    public static void main(String[] args) {
+        List<EdgeModel> models = EdgeModel.parseAll(System.getProperty(MODELS_PROPERTY, "duplicated,single,lightweight"));
+        int runs = Integer.getInteger(RUNS_PROPERTY, 20);
+
+        Dataset dataset = Dataset.facebook();
+        ReferenceGraph graph = ReferenceGraph.build(dataset.getSource());
+        int leastConnectedNodeId = dataset.getLeastConnectedNodeId();
+        int mostConnectedNodeId = dataset.getMostConnectedNodeId();
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("findFriendsOfLeastConnectedNode", graph.getDegree(leastConnectedNodeId));
+        expected.put("findFriendsOfMostConnectedNode", graph.getDegree(mostConnectedNodeId));
+        expected.put("countReachableNodesOfMostConnectedNodeAtDepth2", graph.countReachableNodes(mostConnectedNodeId, 2));
+        expected.put("findShortestPathLengthFromLeastToMostConnectedNode", graph.findShortestPathLength(leastConnectedNodeId, mostConnectedNodeId));
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            Map<String, IntSupplier> queries = new LinkedHashMap<>();
+            queries.put("findFriendsOfLeastConnectedNode", () -> engine.findNeighbors(leastConnectedNodeId, 1));
+            queries.put("findFriendsOfMostConnectedNode", () -> engine.findNeighbors(mostConnectedNodeId, 1));
+            queries.put("findFriendsOfFriendsOfMostConnectedNode", () -> engine.findNeighbors(mostConnectedNodeId, 2));
+            queries.put("countReachableNodesOfMostConnectedNodeAtDepth2", () -> engine.countReachableNodes(mostConnectedNodeId, 2));
+            queries.put("findShortestPathLengthFromLeastToMostConnectedNode", () -> engine.findShortestPathLength(leastConnectedNodeId, mostConnectedNodeId));
+
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                Map<EdgeModel, String> summaries = new LinkedHashMap<>();
+                for (EdgeModel model : models) {
+                    EdgeModel applied = engine.setEdgeModel(model);
+                    if (summaries.containsKey(applied)) {
+                        System.out.println(String.format("%s: Edge model %s runs as %s, already measured.", engine.getName(), model, applied));
+                        continue;
+                    }
+                    String label = String.format("%s [%s edges]", engine.getName(), applied);
+                    StorageFootprint.Memory memoryBaseline = StorageFootprint.Memory.snapshot();
+
+                    System.out.println("Cleaning database.");
+                    engine.clean();
+
+                    System.out.println(String.format("Creating schema for %s edges.", applied));
+                    engine.createSchema();
+
+                    System.out.println("Setting initial data.");
+                    List<IngestStatistics> ingest = new IngestPipeline(engine, 1, 1000, 16).run(dataset.getSource());
+                    IngestStatistics relationships = ingest.get(ingest.size() - 1);
+                    System.out.println(String.format("%s: Ingest - %d friendships in %d ms (%.1f friendships/s)", label, relationships.getWrittenItems(),
+                            relationships.getElapsedMillis(), relationships.getThroughput()));
+
+                    StorageFootprint footprint = StorageFootprint.measure(engine, memoryBaseline);
+                    System.out.println(String.format("%s: Storage footprint - %s", label, footprint));
+
+                    boolean correct = true;
+                    for (Map.Entry<String, IntSupplier> query : queries.entrySet()) {
+                        long[] nanos = new long[runs];
+                        int result = 0;
+                        for (int run = 0; run < runs; run++) {
+                            long begin = System.nanoTime();
+                            result = query.getValue().getAsInt();
+                            nanos[run] = System.nanoTime() - begin;
+                        }
+
+                        Integer expectedResult = expected.get(query.getKey());
+                        String check = expectedResult == null ? "" : expectedResult == result ? ", as expected" : String.format(", expected %d", expectedResult);
+                        correct &= expectedResult == null || expectedResult == result;
+                        System.out.println(String.format("%s: %s - %s, result %d%s", label, query.getKey(), SampleStatistics.of(nanos, runs), result, check));
+                    }
+
+                    summaries.put(applied, String.format("%.1f friendships/s ingested, %d stored relationships for %d friendships, %d store bytes, %s",
+                            relationships.getThroughput(), footprint.getRelationships(), graph.getArcCount() / 2, footprint.getStoreBytes(),
+                            correct ? "traversals correct" : "traversals differ from the dataset"));
+                }
+
+                for (Map.Entry<EdgeModel, String> summary : summaries.entrySet()) {
+                    System.out.println(String.format("%s: Summary [%s edges] - %s", engine.getName(), summary.getKey(), summary.getValue()));
+                }
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.google.common.base.Stopwatch;
+import com.graphdatabases.benchmark.BenchmarkTest;
+import com.graphdatabases.benchmark.Direction;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.addressing.NativeIdMap;
+import com.graphdatabases.benchmark.annotation.Benchmark;
+import com.graphdatabases.benchmark.annotation.Level;
+import com.graphdatabases.benchmark.annotation.Setup;
+import com.graphdatabases.benchmark.annotation.TearDown;
+import com.graphdatabases.benchmark.dataset.CountingEdgeSource;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.storage.StorageFootprint;
+
+import java.util.concurrent.TimeUnit;
+
+public class GraphScenarios {
+
+    private static final int WRITE_ITERATIONS = 100;
+    private static final long READ_BUDGET_MILLIS = 30000;
+
+    private final GraphEngine engine;
+    private final Dataset dataset;
+
+    private long ingestedEdges;
+    private long ingestMillis;
+    private StorageFootprint.Memory memoryBaseline;
+    private long leastConnectedNativeId;
+    private long mostConnectedNativeId;
+    private long firstNewNativeId;
+
+    public GraphScenarios(GraphEngine engine) {
+        this(engine, Dataset.facebook());
+    }
+
+    public GraphScenarios(GraphEngine engine, Dataset dataset) {
+        this.engine = engine;
+        this.dataset = dataset;
+    }
+
+    @Setup
+    public void setup() {
+        memoryBaseline = StorageFootprint.Memory.snapshot();
+
+        System.out.println("Initializing database driver.");
+        engine.open();
+
+        System.out.println("Cleaning database.");
+        engine.clean();
+
+        System.out.println("Creating schema.");
+        engine.createSchema();
+
+        System.out.println(String.format("Setting initial data from %s.", dataset.getSource().getName()));
+        CountingEdgeSource source = new CountingEdgeSource(dataset.getSource());
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        engine.load(source);
+        stopwatch.stop();
+
+        ingestedEdges = source.getCount();
+        ingestMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+        System.out.println(String.format("Ingested %d edges in %d ms (%.1f edges/s).", ingestedEdges, ingestMillis, getIngestThroughput()));
+        System.out.println(String.format("Storage footprint after ingest - %s", StorageFootprint.measure(engine, memoryBaseline)));
+
+        // the ByNativeId benchmarks address these nodes by the engine's own identifiers, so set against their nodeId
+        // counterparts they show what the index lookup of the nodeId costs
+        NativeIdMap nativeIds = NativeIdMap.resolve(engine, dataset.getLeastConnectedNodeId(), dataset.getMostConnectedNodeId());
+        leastConnectedNativeId = nativeIds.get(dataset.getLeastConnectedNodeId());
+        mostConnectedNativeId = nativeIds.get(dataset.getMostConnectedNodeId());
+        if (leastConnectedNativeId == -1 || mostConnectedNativeId == -1) {
+            throw new BenchmarkException("Failed to resolve the native ids of the least and the most connected node.");
+        }
+    }
+
+    public double getIngestThroughput() {
+        return ingestMillis == 0 ? 0 : ingestedEdges * 1000.0 / ingestMillis;
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findNodeWithLeastIngoingEdges() {
+        return engine.findNodeWithLeastEdges(Direction.IN);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findNodeWithLeastOutgoingEdges() {
+        return engine.findNodeWithLeastEdges(Direction.OUT);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findNodeWithLeastIngoingAndOutgoingEdges() {
+        return engine.findNodeWithLeastEdges(Direction.BOTH);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findNodeWithMostIngoingEdges() {
+        return engine.findNodeWithMostEdges(Direction.IN);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findNodeWithMostOutgoingEdges() {
+        return engine.findNodeWithMostEdges(Direction.OUT);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findNodeWithMostIngoingAndOutgoingEdges() {
+        return engine.findNodeWithMostEdges(Direction.BOTH);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfLeastConnectedNode() {
+        return engine.findNeighbors(dataset.getLeastConnectedNodeId(), 1);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfAFriendsOfLeastConnectedNode() {
+        return engine.findNeighbors(dataset.getLeastConnectedNodeId(), 2);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfMostConnectedNode() {
+        return engine.findNeighbors(dataset.getMostConnectedNodeId(), 1);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfFriendsOfMostConnectedNode() {
+        return engine.findNeighbors(dataset.getMostConnectedNodeId(), 2);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public boolean findMostConnectedNode() {
+        return engine.findNode(dataset.getMostConnectedNodeId());
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public boolean findMostConnectedNodeByNativeId() {
+        return engine.findNodeByNativeId(mostConnectedNativeId);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfLeastConnectedNodeByNativeId() {
+        return engine.findNeighborsByNativeId(leastConnectedNativeId, 1);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfAFriendsOfLeastConnectedNodeByNativeId() {
+        return engine.findNeighborsByNativeId(leastConnectedNativeId, 2);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfMostConnectedNodeByNativeId() {
+        return engine.findNeighborsByNativeId(mostConnectedNativeId, 1);
+    }
+
+    @Benchmark(iteration = 10, budgetMillis = READ_BUDGET_MILLIS)
+    public int findFriendsOfFriendsOfMostConnectedNodeByNativeId() {
+        return engine.findNeighborsByNativeId(mostConnectedNativeId, 2);
+    }
+
+    @Benchmark(iteration = 10)
+    public boolean updateMostConnectedNode() {
+        return engine.updateNode(dataset.getMostConnectedNodeId(), "John", "Doe");
+    }
+
+    @Benchmark(iteration = 10)
+    public boolean updateMostConnectedNodeByNativeId() {
+        return engine.updateNodeByNativeId(mostConnectedNativeId, "John", "Doe");
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 90)
+    public boolean createNewNodeWithNodeId10000() {
+        return engine.createNode(dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 80)
+    public boolean createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000() {
+        return engine.createRelationship(dataset.getMostConnectedNodeId(), dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 80)
+    public boolean createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000ByNativeIds() {
+        return engine.createRelationshipByNativeIds(mostConnectedNativeId, firstNewNativeId);
+    }
+
+    @Benchmark(iteration = 10, priority = 70, budgetMillis = READ_BUDGET_MILLIS)
+    public boolean findNodeWithNodeId10000() {
+        return engine.findNode(dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = 10, priority = 60)
+    public boolean updateNodeWithNodeId10000() {
+        return engine.updateNode(dataset.getFirstNewNodeId(), "John", "Doe");
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 50)
+    public boolean deleteNodeWithNodeId10000() {
+        return engine.deleteNode(dataset.getFirstNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 90)
+    public boolean createNewNodeWithNodeId20000() {
+        return engine.createNode(dataset.getSecondNewNodeId());
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 80)
+    public boolean createNewRelationshipBetweenLeastConnectedNodeAndNodeWithNodeId20000() {
+        return engine.createRelationship(dataset.getLeastConnectedNodeId(), dataset.getSecondNewNodeId());
+    }
+
+    @Benchmark(iteration = 10, priority = 70, budgetMillis = READ_BUDGET_MILLIS)
+    public boolean findNodeWithNodeId20000() {
+        return engine.findNode(dataset.getSecondNewNodeId());
+    }
+
+    @Benchmark(iteration = 10, priority = 60)
+    public boolean updateNodeWithNodeId20000() {
+        return engine.updateNode(dataset.getSecondNewNodeId(), "John", "Doe");
+    }
+
+    @Benchmark(iteration = WRITE_ITERATIONS, priority = 50)
+    public boolean deleteNodeWithNodeId20000() {
+        return engine.deleteNode(dataset.getSecondNewNodeId());
+    }
+
+    // the write benchmarks restore the state they change outside of the timed region, so they can be repeated and
+    // leave the graph as the following benchmarks expect it
+
+    @TearDown(level = Level.INVOCATION, benchmarks = "createNewNodeWithNodeId10000")
+    public void removeNodeWithNodeId10000() {
+        engine.deleteNode(dataset.getFirstNewNodeId());
+    }
+
+    @TearDown(level = Level.ITERATION, benchmarks = "createNewNodeWithNodeId10000")
+    public void restoreNodeWithNodeId10000() {
+        engine.createNode(dataset.getFirstNewNodeId());
+    }
+
+    @Setup(level = Level.ITERATION, benchmarks = "createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000ByNativeIds")
+    public void resolveNodeWithNodeId10000() {
+        // the node is recreated between benchmarks, so its native id is looked up again
+        firstNewNativeId = NativeIdMap.resolve(engine, dataset.getFirstNewNodeId()).get(dataset.getFirstNewNodeId());
+    }
+
+    @TearDown(level = Level.INVOCATION, benchmarks = {"createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000", "createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000ByNativeIds"})
+    public void removeRelationshipOfNodeWithNodeId10000() {
+        engine.deleteRelationship(dataset.getMostConnectedNodeId(), dataset.getFirstNewNodeId());
+    }
+
+    @TearDown(level = Level.ITERATION, benchmarks = {"createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000", "createNewRelationshipBetweenMostConnectedNodeAndNodeWithNodeId10000ByNativeIds"})
+    public void restoreRelationshipOfNodeWithNodeId10000() {
+        engine.createRelationship(dataset.getMostConnectedNodeId(), dataset.getFirstNewNodeId());
+    }
+
+    @Setup(level = Level.INVOCATION, benchmarks = "deleteNodeWithNodeId10000")
+    public void recreateNodeWithNodeId10000() {
+        recreateNode(dataset.getFirstNewNodeId(), dataset.getMostConnectedNodeId());
+    }
+
+    @TearDown(level = Level.INVOCATION, benchmarks = "createNewNodeWithNodeId20000")
+    public void removeNodeWithNodeId20000() {
+        engine.deleteNode(dataset.getSecondNewNodeId());
+    }
+
+    @TearDown(level = Level.ITERATION, benchmarks = "createNewNodeWithNodeId20000")
+    public void restoreNodeWithNodeId20000() {
+        engine.createNode(dataset.getSecondNewNodeId());
+    }
+
+    @TearDown(level = Level.INVOCATION, benchmarks = "createNewRelationshipBetweenLeastConnectedNodeAndNodeWithNodeId20000")
+    public void removeRelationshipOfNodeWithNodeId20000() {
+        engine.deleteRelationship(dataset.getLeastConnectedNodeId(), dataset.getSecondNewNodeId());
+    }
+
+    @TearDown(level = Level.ITERATION, benchmarks = "createNewRelationshipBetweenLeastConnectedNodeAndNodeWithNodeId20000")
+    public void restoreRelationshipOfNodeWithNodeId20000() {
+        engine.createRelationship(dataset.getLeastConnectedNodeId(), dataset.getSecondNewNodeId());
+    }
+
+    @Setup(level = Level.INVOCATION, benchmarks = "deleteNodeWithNodeId20000")
+    public void recreateNodeWithNodeId20000() {
+        recreateNode(dataset.getSecondNewNodeId(), dataset.getLeastConnectedNodeId());
+    }
+
+    private void recreateNode(int nodeId, int friendNodeId) {
+        if (!engine.findNode(nodeId)) {
+            engine.createNode(nodeId);
+            engine.createRelationship(friendNodeId, nodeId);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println(String.format("Storage footprint after the benchmarks - %s", StorageFootprint.measure(engine, memoryBaseline)));
+        engine.close();
+    }
+
+    public static void main(String[] args) {
+        for (GraphEngine engine : GraphEngines.load()) {
+            BenchmarkTest benchmarkTest = new BenchmarkTest(String.format("%s: %s", engine.getName(), GraphScenarios.class.getName()), new GraphScenarios(engine));
+            benchmarkTest.run();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.NodeIndex;
+import com.graphdatabases.benchmark.statistics.SampleStatistics;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Node ingest and nodeId lookups with each kind of nodeId index of a list: no index, hash or sorted structure, unique
+ * or not, integer or string keys. Only nodes are loaded, so the ingest time is the cost of maintaining the index and
+ * the lookups touch nothing but it. Ingest slowdown is reported against the run without index when the list has one.
+ * Range lookups are skipped for string keys, which do not sort in nodeId order.
+ */
+public class IndexScenarios {
+
+    public static final String TYPES_PROPERTY = "benchmark.index.types";
+    public static final String NODES_PROPERTY = "benchmark.index.nodes";
+    public static final String LOOKUPS_PROPERTY = "benchmark.index.lookups";
+    public static final String RANGE_WIDTH_PROPERTY = "benchmark.index.rangeWidth";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int RANGE_LOOKUPS = 100;
+
+    public static void main(String[] args) {
+        List<NodeIndex> indexes = NodeIndex.parseAll(System.getProperty(TYPES_PROPERTY,
+                "none,hash+nonunique+int,hash+unique+int,sorted+nonunique+int,sorted+unique+int,hash+nonunique+string,sorted+nonunique+string"));
+        int nodes = Integer.getInteger(NODES_PROPERTY, 100000);
+        int lookups = Integer.getInteger(LOOKUPS_PROPERTY, 1000);
+        int rangeWidth = Integer.getInteger(RANGE_WIDTH_PROPERTY, 100);
+        long seed = Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L);
+
+        int[] nodeIds = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            nodeIds[i] = i;
+        }
+        // shuffled, so a sorted index is not filled in key order
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = nodes - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int nodeId = nodeIds[i];
+            nodeIds[i] = nodeIds[j];
+            nodeIds[j] = nodeId;
+        }
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                double baselineThroughput = 0;
+                for (NodeIndex index : indexes) {
+                    NodeIndex applied = engine.setNodeIndex(index);
+                    String label = String.format("%s [%s]", engine.getName(), applied);
+
+                    System.out.println("Cleaning database.");
+                    engine.clean();
+
+                    System.out.println(String.format("Creating schema with %s index on nodeId.", applied));
+                    engine.createSchema();
+
+                    long begin = System.nanoTime();
+                    for (int offset = 0; offset < nodes; offset += BATCH_SIZE) {
+                        int length = Math.min(BATCH_SIZE, nodes - offset);
+                        int[] batch = new int[length];
+                        System.arraycopy(nodeIds, offset, batch, 0, length);
+                        engine.createNodes(batch, length);
+                    }
+                    double throughput = nodes * 1e9 / (System.nanoTime() - begin);
+                    if (applied.getStructure() == NodeIndex.Structure.NONE) {
+                        baselineThroughput = throughput;
+                    }
+                    System.out.println(String.format("%s: Ingest - %.1f nodes/s%s", label, throughput,
+                            baselineThroughput > 0 ? String.format(", %.2fx the time without index", baselineThroughput / throughput) : ""));
+                    System.out.println(String.format("%s: Index size - %d bytes", label, engine.getIndexSize()));
+
+                    SplittableRandom lookupRandom = new SplittableRandom(seed);
+                    long[] pointNanos = new long[lookups];
+                    for (int i = 0; i < lookups; i++) {
+                        int nodeId = lookupRandom.nextInt(nodes);
+                        long start = System.nanoTime();
+                        engine.findNode(nodeId);
+                        pointNanos[i] = System.nanoTime() - start;
+                    }
+                    System.out.println(String.format("%s: Point lookup - %s", label, SampleStatistics.of(pointNanos, lookups)));
+
+                    if (applied.getKeyType() == NodeIndex.KeyType.STRING) {
+                        // string keys compare lexicographically, so a range of decimal nodeIds is no range of keys
+                        System.out.println(String.format("%s: Range lookup - skipped for string keys", label));
+                        continue;
+                    }
+
+                    long[] rangeNanos = new long[RANGE_LOOKUPS];
+                    long matched = 0;
+                    for (int i = 0; i < RANGE_LOOKUPS; i++) {
+                        int fromNodeId = lookupRandom.nextInt(Math.max(1, nodes - rangeWidth));
+                        long start = System.nanoTime();
+                        matched += engine.countNodesInRange(fromNodeId, fromNodeId + rangeWidth);
+                        rangeNanos[i] = System.nanoTime() - start;
+                    }
+                    System.out.println(String.format("%s: Range lookup of %d keys - %s, %.1f nodes matched on average", label, rangeWidth,
+                            SampleStatistics.of(rangeNanos, RANGE_LOOKUPS), (double) matched / RANGE_LOOKUPS));
+                }
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
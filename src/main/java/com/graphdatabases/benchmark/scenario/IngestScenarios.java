@@ -0,0 +1,72 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.dataset.SyntheticGraphs;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.ingest.IngestStatistics;
+
+import java.util.*;
+
+/**
+ * Loads the dataset through {@link IngestPipeline} with 1, 2, 4 ... up to the configured number of writers and
+ * reports how edge throughput and the number of retried transactions change with the writer count. The Facebook
+ * graph is loaded unless a synthetic generator is selected.
+ */
+public class IngestScenarios {
+
+    public static final String WRITERS_PROPERTY = "benchmark.ingest.writers";
+    public static final String BATCH_SIZE_PROPERTY = "benchmark.ingest.batchSize";
+    public static final String QUEUE_CAPACITY_PROPERTY = "benchmark.ingest.queueCapacity";
+    public static final String SCALE_PROPERTY = "benchmark.scale";
+
+    public static void main(String[] args) {
+        int maxWriters = Integer.getInteger(WRITERS_PROPERTY, 8);
+        int batchSize = Integer.getInteger(BATCH_SIZE_PROPERTY, 1000);
+        int queueCapacity = Integer.getInteger(QUEUE_CAPACITY_PROPERTY, 16);
+
+        String model = System.getProperty(ScalingScenarios.GENERATOR_PROPERTY);
+        EdgeSource source = model == null
+                ? EdgeListFile.facebook()
+                : SyntheticGraphs.create(model, Integer.getInteger(SCALE_PROPERTY, 1), Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L));
+
+        List<Integer> writerCounts = new ArrayList<>();
+        for (int writers = 1; writers < maxWriters; writers *= 2) {
+            writerCounts.add(writers);
+        }
+        writerCounts.add(maxWriters);
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            Map<Integer, String> throughputs = new LinkedHashMap<>();
+            Map<Integer, Long> retries = new LinkedHashMap<>();
+
+            engine.open();
+            try {
+                for (Integer writers : writerCounts) {
+                    engine.clean();
+                    engine.createSchema();
+
+                    System.out.println(String.format("%s: Loading %s with %d writers.", engine.getName(), source.getName(), writers));
+                    List<IngestStatistics> statistics = new IngestPipeline(engine, writers, batchSize, queueCapacity).run(source);
+
+                    long retried = 0;
+                    for (IngestStatistics phase : statistics) {
+                        System.out.println(phase);
+                        retried += phase.getRetries();
+                    }
+
+                    IngestStatistics relationships = statistics.get(statistics.size() - 1);
+                    throughputs.put(writers, String.format("%.1f", relationships.getThroughput()));
+                    retries.put(writers, retried);
+                }
+            } finally {
+                engine.close();
+            }
+
+            System.out.println(String.format("%s: Edge throughput (edges/s) by writers - %s", engine.getName(), throughputs));
+            System.out.println(String.format("%s: Retried transactions by writers - %s", engine.getName(), retries));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.BenchmarkTest;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.annotation.Benchmark;
+import com.graphdatabases.benchmark.annotation.Level;
+import com.graphdatabases.benchmark.annotation.Setup;
+import com.graphdatabases.benchmark.annotation.TearDown;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.dataset.EgoNetworkProfiles;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property-filtered traversals over the ego network features and circles. Every query runs first without and then
+ * with the secondary indexes on features and circle ids.
+ */
+public class ProfileScenarios {
+
+    private final GraphEngine engine;
+    private final Dataset dataset = Dataset.facebook();
+
+    private int nodeId;
+    private String circleId;
+    private int featureId;
+    private boolean indexesCreated;
+
+    public ProfileScenarios(GraphEngine engine) {
+        this.engine = engine;
+    }
+
+    @Setup
+    public void setup() {
+
+        System.out.println("Initializing database driver.");
+        engine.open();
+
+        System.out.println("Cleaning database.");
+        engine.clean();
+
+        System.out.println("Creating schema.");
+        engine.createSchema();
+
+        System.out.println("Setting initial data.");
+        engine.load(dataset.getSource());
+
+        System.out.println("Setting profile data.");
+        EgoNetworkProfiles profiles = EgoNetworkProfiles.facebook();
+        engine.loadProfiles(profiles);
+
+        // the largest circle of the most connected node and the most common feature among its members
+        nodeId = dataset.getMostConnectedNodeId();
+        int[] members = new int[0];
+        for (Map.Entry<String, int[]> circle : profiles.getCircles().entrySet()) {
+            if (circle.getKey().startsWith(nodeId + ":") && circle.getValue().length > members.length) {
+                circleId = circle.getKey();
+                members = circle.getValue();
+            }
+        }
+
+        Map<Integer, Integer> featureCounts = new HashMap<>();
+        for (int member : members) {
+            for (int feature : profiles.getFeatures().getOrDefault(member, new int[0])) {
+                featureCounts.merge(feature, 1, Integer::sum);
+            }
+        }
+        featureId = featureCounts.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(0);
+
+        System.out.println(String.format("Filtering friends of %d in circle %s with feature %d.", nodeId, circleId, featureId));
+    }
+
+    @Benchmark(iteration = 10, priority = 100)
+    public int findFriendsInCircleWithFeatureWithoutIndexes() {
+        return engine.findFriendsInCircleWithFeature(nodeId, circleId, featureId);
+    }
+
+    @Benchmark(iteration = 10, priority = 100)
+    public int countCircleMembersWithFeatureWithoutIndexes() {
+        return engine.countCircleMembersWithFeature(circleId, featureId);
+    }
+
+    @Benchmark(iteration = 10, priority = 100)
+    public int countNodesWithFeatureWithoutIndexes() {
+        return engine.countNodesWithFeature(featureId);
+    }
+
+    @Setup(level = Level.ITERATION, benchmarks = {"findFriendsInCircleWithFeatureWithIndexes", "countCircleMembersWithFeatureWithIndexes", "countNodesWithFeatureWithIndexes"})
+    public void createPropertyIndexes() {
+        // a schema change, not a benchmark: the build is timed once and the later calls find the indexes in place
+        long begin = System.nanoTime();
+        engine.createPropertyIndexes();
+        if (!indexesCreated) {
+            indexesCreated = true;
+            System.out.println(String.format("Created property indexes in %d ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)));
+        }
+    }
+
+    @Benchmark(iteration = 10, priority = 80)
+    public int findFriendsInCircleWithFeatureWithIndexes() {
+        return engine.findFriendsInCircleWithFeature(nodeId, circleId, featureId);
+    }
+
+    @Benchmark(iteration = 10, priority = 80)
+    public int countCircleMembersWithFeatureWithIndexes() {
+        return engine.countCircleMembersWithFeature(circleId, featureId);
+    }
+
+    @Benchmark(iteration = 10, priority = 80)
+    public int countNodesWithFeatureWithIndexes() {
+        return engine.countNodesWithFeature(featureId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    public static void main(String[] args) {
+        for (GraphEngine engine : GraphEngines.load()) {
+            BenchmarkTest benchmarkTest = new BenchmarkTest(String.format("%s: %s", engine.getName(), ProfileScenarios.class.getName()), new ProfileScenarios(engine));
+            benchmarkTest.run();
+        }
+    }
+}
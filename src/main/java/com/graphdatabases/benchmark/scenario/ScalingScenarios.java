@@ -0,0 +1,61 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.BenchmarkTest;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.dataset.SyntheticGraphs;
+import com.graphdatabases.benchmark.statistics.SampleStatistics;
+
+import java.util.*;
+
+/**
+ * Runs {@link GraphScenarios} on synthetic graphs of growing size and reports how ingest throughput and the median
+ * latency of every scenario change with the scale.
+ */
+public class ScalingScenarios {
+
+    public static final String SCALES_PROPERTY = "benchmark.scales";
+    public static final String GENERATOR_PROPERTY = "benchmark.generator";
+    public static final String SEED_PROPERTY = "benchmark.seed";
+
+    public static void main(String[] args) {
+        String model = System.getProperty(GENERATOR_PROPERTY, "rmat");
+        long seed = Long.getLong(SEED_PROPERTY, 42L);
+        List<Integer> scales = new ArrayList<>();
+        for (String scale : System.getProperty(SCALES_PROPERTY, "1,10,100").split(",")) {
+            scales.add(Integer.parseInt(scale.trim()));
+        }
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            Map<Integer, Double> ingestThroughputs = new LinkedHashMap<>();
+            Map<String, Map<Integer, String>> medianLatencies = new LinkedHashMap<>();
+
+            for (Integer scale : scales) {
+                Dataset dataset = Dataset.of(SyntheticGraphs.create(model, scale, seed));
+                GraphScenarios scenarios = new GraphScenarios(engine, dataset);
+
+                BenchmarkTest benchmarkTest = new BenchmarkTest(String.format("%s: %s [%s]", engine.getName(), GraphScenarios.class.getName(), dataset.getSource().getName()), scenarios);
+                benchmarkTest.run();
+
+                ingestThroughputs.put(scale, scenarios.getIngestThroughput());
+                for (Map.Entry<String, SampleStatistics> summary : benchmarkTest.getSummaries().entrySet()) {
+                    medianLatencies.computeIfAbsent(summary.getKey(), key -> new LinkedHashMap<>()).put(scale, formatMedian(summary.getValue().getMedian()));
+                }
+            }
+
+            System.out.println(String.format("%s: Ingest throughput (edges/s) by scale - %s", engine.getName(), ingestThroughputs));
+            for (Map.Entry<String, Map<Integer, String>> entry : medianLatencies.entrySet()) {
+                System.out.println(String.format("%s: %s: Median execution time by scale - %s", engine.getName(), entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Formats a median in nanoseconds the way {@link SampleStatistics} does, since fast scenarios would round to
+     * nothing in milliseconds.
+     */
+    private static String formatMedian(double nanos) {
+        return nanos < 1e6 ? String.format("%.3f us", nanos / 1e3) : String.format("%.3f ms", nanos / 1e6);
+    }
+}
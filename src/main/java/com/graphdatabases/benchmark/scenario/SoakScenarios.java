@@ -0,0 +1,83 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.soak.LeakDetector;
+import com.graphdatabases.benchmark.workload.SoakRunner;
+import com.graphdatabases.benchmark.workload.TargetSelector;
+import com.graphdatabases.benchmark.workload.WorkloadMix;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the mixed workload against the Facebook graph for hours and samples throughput, latency and the resources in
+ * use every window: the sessions, pooled graphs or cursors of the engine, heap and off-heap memory after a garbage
+ * collection, file descriptors, sockets and threads. Resources that keep growing over the run are reported as leaks.
+ */
+public class SoakScenarios {
+
+    public static final String DURATION_PROPERTY = "benchmark.soak.durationMinutes";
+    public static final String WINDOW_PROPERTY = "benchmark.soak.windowSeconds";
+    public static final String THREADS_PROPERTY = "benchmark.soak.threads";
+    public static final String WARMUP_WINDOWS_PROPERTY = "benchmark.soak.warmupWindows";
+    public static final String LEAK_THRESHOLD_PROPERTY = "benchmark.soak.leakThreshold";
+
+    public static void main(String[] args) {
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty(WorkloadScenarios.MIX_PROPERTY, "oneHop:80,twoHop:10,update:5,insert:5"));
+        String distribution = System.getProperty(WorkloadScenarios.DISTRIBUTION_PROPERTY, "zipfian");
+        long durationMillis = TimeUnit.MINUTES.toMillis(Long.getLong(DURATION_PROPERTY, 240L));
+        long windowMillis = TimeUnit.SECONDS.toMillis(Long.getLong(WINDOW_PROPERTY, 60L));
+        int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+        int warmupWindows = Integer.getInteger(WARMUP_WINDOWS_PROPERTY, 5);
+        double leakThreshold = Double.parseDouble(System.getProperty(LEAK_THRESHOLD_PROPERTY, "0.8"));
+        long seed = Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L);
+
+        EdgeListFile dataset = EdgeListFile.facebook();
+        TargetSelector selector = TargetSelector.of(distribution, ReferenceGraph.build(dataset), seed);
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                System.out.println("Cleaning database.");
+                engine.clean();
+
+                System.out.println("Creating schema.");
+                engine.createSchema();
+
+                System.out.println("Setting initial data.");
+                new IngestPipeline(engine, 1, 1000, 16).run(dataset);
+
+                System.out.println(String.format("%s: Running %s with %s targets on %d threads for %d min.", engine.getName(), mix, distribution, threads,
+                        TimeUnit.MILLISECONDS.toMinutes(durationMillis)));
+                List<SoakRunner.Sample> samples = new SoakRunner(engine, mix, selector, threads, durationMillis, windowMillis, seed).run();
+
+                LeakDetector detector = new LeakDetector(warmupWindows, leakThreshold);
+                for (SoakRunner.Sample sample : samples) {
+                    detector.record(sample.getResources());
+                }
+
+                if (samples.size() > warmupWindows + 1) {
+                    SoakRunner.Sample first = samples.get(warmupWindows);
+                    SoakRunner.Sample last = samples.get(samples.size() - 1);
+                    System.out.println(String.format("%s: Throughput drift - %.1f to %.1f operations/s", engine.getName(), first.getThroughput(), last.getThroughput()));
+                    System.out.println(String.format("%s: p99 drift - %d us to %d us", engine.getName(), first.getPercentileMicros(99), last.getPercentileMicros(99)));
+                }
+
+                List<LeakDetector.Leak> leaks = detector.findLeaks();
+                if (leaks.isEmpty()) {
+                    System.out.println(String.format("%s: No resource grew steadily over the run.", engine.getName()));
+                }
+                for (LeakDetector.Leak leak : leaks) {
+                    System.out.println(String.format("%s: Possible leak - %s", engine.getName(), leak));
+                }
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.dataset.Dataset;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.ingest.Retry;
+import com.graphdatabases.benchmark.statistics.Latencies;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write contention on a hub. Every thread creates fresh nodes and attaches each of them to the most connected node
+ * of the dataset, all threads at once, which makes them compete for the relationship chain (Neo4j), the edge bag
+ * (OrientDB) or the vertex document (ArangoDB) of the same vertex. Conflicting commits are retried and counted.
+ */
+public class SupernodeScenarios {
+
+    public static final String THREADS_PROPERTY = "benchmark.contention.threads";
+    public static final String WRITES_PROPERTY = "benchmark.contention.writesPerThread";
+
+    private static final int MAX_RETRIES = 100;
+
+    private final GraphEngine engine;
+    private final Dataset dataset;
+
+    private int nextNodeId;
+
+    public SupernodeScenarios(GraphEngine engine, Dataset dataset) {
+        this.engine = engine;
+        this.dataset = dataset;
+        this.nextNodeId = dataset.getSecondNewNodeId() * 2;
+    }
+
+    public void setup() {
+        System.out.println("Initializing database driver.");
+        engine.open();
+
+        System.out.println("Cleaning database.");
+        engine.clean();
+
+        System.out.println("Creating schema.");
+        engine.createSchema();
+
+        System.out.println("Setting initial data.");
+        new IngestPipeline(engine, 1, 1000, 16).run(dataset.getSource());
+    }
+
+    /**
+     * Runs {@code threads} writers that each attach {@code writesPerThread} new nodes to the hub.
+     */
+    public Result attachToHub(int threads, int writesPerThread) {
+        int hubNodeId = dataset.getMostConnectedNodeId();
+        int firstNodeId = nextNodeId;
+        nextNodeId += threads * writesPerThread;
+
+        int[] nodeIds = new int[threads * writesPerThread];
+        for (int i = 0; i < nodeIds.length; i++) {
+            nodeIds[i] = firstNodeId + i;
+        }
+        engine.createNodes(nodeIds, nodeIds.length);
+
+        AtomicLong retries = new AtomicLong();
+        long[][] latencies = new long[threads][writesPerThread];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int writer = thread;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < writesPerThread; i++) {
+                    int nodeId = firstNodeId + writer * writesPerThread + i;
+                    long begin = System.nanoTime();
+                    retries.addAndGet(attach(hubNodeId, nodeId));
+                    latencies[writer][i] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException("Contention run interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Contention run failed. Message: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        long[] all = new long[threads * writesPerThread];
+        for (int thread = 0; thread < threads; thread++) {
+            System.arraycopy(latencies[thread], 0, all, thread * writesPerThread, writesPerThread);
+        }
+        Arrays.sort(all);
+
+        return new Result(threads, all, retries.get(), elapsed);
+    }
+
+    private int attach(int hubNodeId, int nodeId) throws InterruptedException {
+        return Retry.run(engine, () -> engine.createRelationships(new int[]{hubNodeId}, new int[]{nodeId}, 1), MAX_RETRIES);
+    }
+
+    public void tearDown() {
+        engine.close();
+    }
+
+    public static class Result {
+
+        private final int threads;
+        private final long[] sortedLatencies;
+        private final long retries;
+        private final long elapsedNanos;
+
+        Result(int threads, long[] sortedLatencies, long retries, long elapsedNanos) {
+            this.threads = threads;
+            this.sortedLatencies = sortedLatencies;
+            this.retries = retries;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getCommitThroughput() {
+            return sortedLatencies.length * 1e9 / elapsedNanos;
+        }
+
+        public double getRetryRate() {
+            return (double) retries / (sortedLatencies.length + retries);
+        }
+
+        public long getPercentileMicros(double percentile) {
+            return Latencies.percentileMicros(sortedLatencies, percentile);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d threads: %d commits, %.1f commits/s, %d retries (%.2f%% of attempts), %s",
+                    threads, sortedLatencies.length, getCommitThroughput(), retries, getRetryRate() * 100, Latencies.summarize(sortedLatencies));
+        }
+    }
+
+    public static void main(String[] args) {
+        int writesPerThread = Integer.getInteger(WRITES_PROPERTY, 100);
+        List<Integer> threadCounts = new ArrayList<>();
+        for (String threads : System.getProperty(THREADS_PROPERTY, "1,4,16,64").split(",")) {
+            threadCounts.add(Integer.parseInt(threads.trim()));
+        }
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            SupernodeScenarios scenarios = new SupernodeScenarios(engine, Dataset.facebook());
+            scenarios.setup();
+            try {
+                for (Integer threads : threadCounts) {
+                    Result result = scenarios.attachToHub(threads, writesPerThread);
+                    System.out.println(String.format("%s: Edges attached to hub %d - %s", engine.getName(), scenarios.dataset.getMostConnectedNodeId(), result));
+                }
+            } finally {
+                scenarios.tearDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.workload.DefinedWorkload;
+import com.graphdatabases.benchmark.workload.WorkloadDefinition;
+
+/**
+ * Runs a workload declared in a JSON file against the Facebook graph, so new query shapes can be compared across
+ * engines without writing engine code.
+ */
+public class WorkloadFileScenarios {
+
+    public static final String FILE_PROPERTY = "benchmark.workload.file";
+
+    public static void main(String[] args) {
+        String path = System.getProperty(FILE_PROPERTY);
+        if (path == null) {
+            throw new BenchmarkException(String.format("Set -D%s to the workload file to run.", FILE_PROPERTY));
+        }
+        WorkloadDefinition definition = WorkloadDefinition.read(path);
+        long seed = Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L);
+
+        EdgeListFile dataset = EdgeListFile.facebook();
+        ReferenceGraph graph = ReferenceGraph.build(dataset);
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                System.out.println("Cleaning database.");
+                engine.clean();
+
+                System.out.println("Creating schema.");
+                engine.createSchema();
+
+                System.out.println("Setting initial data.");
+                new IngestPipeline(engine, 1, 1000, 16).run(dataset);
+
+                DefinedWorkload workload = new DefinedWorkload(engine, definition, graph, seed);
+                System.out.println(String.format("%s: Running workload %s on %d threads.", engine.getName(), definition.getName(), definition.getThreads()));
+                DefinedWorkload.Result result = workload.run();
+                System.out.println(String.format("%s: Workload %s - %s", engine.getName(), definition.getName(), result));
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
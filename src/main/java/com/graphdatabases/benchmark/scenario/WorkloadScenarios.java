@@ -0,0 +1,72 @@
+package com.graphdatabases.benchmark.scenario;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.GraphEngines;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.cache.CachingGraphEngine;
+import com.graphdatabases.benchmark.dataset.EdgeListFile;
+import com.graphdatabases.benchmark.ingest.IngestPipeline;
+import com.graphdatabases.benchmark.storage.StorageFootprint;
+import com.graphdatabases.benchmark.workload.MixedWorkload;
+import com.graphdatabases.benchmark.workload.TargetSelector;
+import com.graphdatabases.benchmark.workload.WorkloadMix;
+
+/**
+ * Concurrent mixed read/write traffic against the Facebook graph, reporting latency per operation type. With a
+ * client cache size set, the workload runs a second time through a {@link CachingGraphEngine} and the hit ratio,
+ * invalidations and heap growth of the cache are reported next to the latencies.
+ */
+public class WorkloadScenarios {
+
+    public static final String MIX_PROPERTY = "benchmark.workload.mix";
+    public static final String DISTRIBUTION_PROPERTY = "benchmark.workload.distribution";
+    public static final String THREADS_PROPERTY = "benchmark.workload.threads";
+    public static final String OPERATIONS_PROPERTY = "benchmark.workload.operationsPerThread";
+    public static final String CLIENT_CACHE_PROPERTY = "benchmark.workload.clientCache";
+
+    public static void main(String[] args) {
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty(MIX_PROPERTY, "oneHop:80,twoHop:10,update:5,insert:5"));
+        String distribution = System.getProperty(DISTRIBUTION_PROPERTY, "zipfian");
+        int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+        int operationsPerThread = Integer.getInteger(OPERATIONS_PROPERTY, 1000);
+        long clientCacheSize = Long.getLong(CLIENT_CACHE_PROPERTY, 0L);
+        long seed = Long.getLong(ScalingScenarios.SEED_PROPERTY, 42L);
+
+        EdgeListFile dataset = EdgeListFile.facebook();
+        TargetSelector selector = TargetSelector.of(distribution, ReferenceGraph.build(dataset), seed);
+
+        for (GraphEngine engine : GraphEngines.load()) {
+            System.out.println("Initializing database driver.");
+            engine.open();
+            try {
+                System.out.println("Cleaning database.");
+                engine.clean();
+
+                System.out.println("Creating schema.");
+                engine.createSchema();
+
+                System.out.println("Setting initial data.");
+                new IngestPipeline(engine, 1, 1000, 16).run(dataset);
+
+                System.out.println(String.format("%s: Running %s with %s targets on %d threads.", engine.getName(), mix, distribution, threads));
+                MixedWorkload.Result result = new MixedWorkload(engine, mix, selector, threads, operationsPerThread, seed).run();
+                System.out.println(String.format("%s: Mixed workload - %s", engine.getName(), result));
+
+                if (clientCacheSize > 0) {
+                    StorageFootprint.Memory before = StorageFootprint.Memory.snapshot();
+                    CachingGraphEngine cached = new CachingGraphEngine(engine, clientCacheSize);
+
+                    System.out.println(String.format("%s: Running %s through a client cache of %d entries.", engine.getName(), mix, clientCacheSize));
+                    MixedWorkload.Result cachedResult = new MixedWorkload(cached, mix, selector, threads, operationsPerThread, seed).run();
+                    long heapGrowth = StorageFootprint.Memory.snapshot().getHeapBytes() - before.getHeapBytes();
+                    System.out.println(String.format("%s: Mixed workload with client cache - %s", engine.getName(), cachedResult));
+                    System.out.println(String.format("%s: Client cache - hit ratio %.1f%%, %d entries, %d invalidating writes, heap growth %d bytes (%.1f bytes per entry)",
+                            engine.getName(), cached.getStats().hitRate() * 100, cached.getSize(), cached.getInvalidations(),
+                            heapGrowth, cached.getSize() > 0 ? (double) heapGrowth / cached.getSize() : 0.0));
+                }
+            } finally {
+                engine.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.graphdatabases.benchmark.soak;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flags resources that grow steadily over a long run. A series counts as growing when its Kendall rank correlation
+ * with time reaches the threshold, so every window adds to it with few setbacks, and it ends above where it started.
+ * The first windows are skipped, as pools, caches and the JIT fill up there before the run settles.
+ */
+public class LeakDetector {
+
+    private static final int MIN_SAMPLES = 5;
+
+    private final Map<String, List<Long>> series = new LinkedHashMap<>();
+    private final int warmupSamples;
+    private final double threshold;
+
+    public LeakDetector(int warmupSamples, double threshold) {
+        this.warmupSamples = warmupSamples;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Adds one sample of every resource. Resources reported as -1 are not known on this platform and are ignored.
+     */
+    public void record(Map<String, Long> resources) {
+        for (Map.Entry<String, Long> resource : resources.entrySet()) {
+            if (resource.getValue() >= 0) {
+                series.computeIfAbsent(resource.getKey(), key -> new ArrayList<>()).add(resource.getValue());
+            }
+        }
+    }
+
+    public List<Leak> findLeaks() {
+        List<Leak> leaks = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : series.entrySet()) {
+            List<Long> values = entry.getValue();
+            if (values.size() - warmupSamples < MIN_SAMPLES) {
+                continue;
+            }
+
+            List<Long> settled = values.subList(warmupSamples, values.size());
+            double trend = kendallTau(settled);
+            long first = settled.get(0);
+            long last = settled.get(settled.size() - 1);
+            if (trend >= threshold && last > first) {
+                leaks.add(new Leak(entry.getKey(), first, last, trend));
+            }
+        }
+
+        return leaks;
+    }
+
+    /**
+     * Rank correlation of the values with their order, from -1 for strictly falling to 1 for strictly rising. Ties
+     * count as neither, so a resource that stays flat is not a leak.
+     */
+    private static double kendallTau(List<Long> values) {
+        long concordant = 0;
+        long pairs = 0;
+        for (int i = 0; i < values.size(); i++) {
+            for (int j = i + 1; j < values.size(); j++) {
+                concordant += Long.signum(values.get(j) - values.get(i));
+                pairs++;
+            }
+        }
+
+        return (double) concordant / pairs;
+    }
+
+    public static class Leak {
+
+        private final String resource;
+        private final long first;
+        private final long last;
+        private final double trend;
+
+        Leak(String resource, long first, long last, double trend) {
+            this.resource = resource;
+            this.first = first;
+            this.last = last;
+            this.trend = trend;
+        }
+
+        public String getResource() {
+            return resource;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public long getLast() {
+            return last;
+        }
+
+        public double getTrend() {
+            return trend;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s grew from %d to %d (trend %.2f)", resource, first, last, trend);
+        }
+    }
+}
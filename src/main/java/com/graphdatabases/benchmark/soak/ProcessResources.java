@@ -0,0 +1,66 @@
+package com.graphdatabases.benchmark.soak;
+
+import com.graphdatabases.benchmark.storage.StorageFootprint;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resources this JVM holds: heap and off-heap memory after a garbage collection, open file descriptors, open
+ * sockets and live threads. Figures the platform does not report are -1; sockets are read from {@code /proc} and are
+ * only known on Linux.
+ */
+public final class ProcessResources {
+
+    private static final File FILE_DESCRIPTORS = new File("/proc/self/fd");
+
+    private ProcessResources() {
+    }
+
+    public static Map<String, Long> snapshot() {
+        StorageFootprint.Memory memory = StorageFootprint.Memory.snapshot();
+
+        Map<String, Long> resources = new LinkedHashMap<>();
+        resources.put("heapAfterGcBytes", memory.getHeapBytes());
+        resources.put("offHeapBytes", memory.getOffHeapBytes());
+        resources.put("fileDescriptors", countFileDescriptors());
+        resources.put("sockets", countSockets());
+        resources.put("threads", (long) ManagementFactory.getThreadMXBean().getThreadCount());
+
+        return resources;
+    }
+
+    private static long countFileDescriptors() {
+        OperatingSystemMXBean system = ManagementFactory.getOperatingSystemMXBean();
+        if (system instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) system).getOpenFileDescriptorCount();
+        }
+
+        return -1;
+    }
+
+    private static long countSockets() {
+        File[] descriptors = FILE_DESCRIPTORS.listFiles();
+        if (descriptors == null) {
+            return -1;
+        }
+
+        long sockets = 0;
+        for (File descriptor : descriptors) {
+            try {
+                if (Files.readSymbolicLink(descriptor.toPath()).toString().startsWith("socket:")) {
+                    sockets++;
+                }
+            } catch (IOException e) {
+                // closed while the directory was listed
+            }
+        }
+
+        return sockets;
+    }
+}
@@ -0,0 +1,27 @@
+package com.graphdatabases.benchmark.statistics;
+
+/**
+ * Percentiles over latencies recorded in nanoseconds. Arrays passed in must be sorted in ascending order.
+ */
+public final class Latencies {
+
+    private Latencies() {
+    }
+
+    /**
+     * Nearest-rank percentile, in microseconds.
+     */
+    public static long percentileMicros(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1000;
+    }
+
+    public static String summarize(long[] sortedNanos) {
+        return String.format("latency us p50=%d p95=%d p99=%d max=%d",
+                percentileMicros(sortedNanos, 50), percentileMicros(sortedNanos, 95), percentileMicros(sortedNanos, 99), percentileMicros(sortedNanos, 100));
+    }
+}
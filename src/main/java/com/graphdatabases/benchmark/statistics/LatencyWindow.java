@@ -0,0 +1,32 @@
+package com.graphdatabases.benchmark.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Latencies in nanoseconds recorded by several threads since the last drain, for runners that report one sample per
+ * time window.
+ */
+public final class LatencyWindow {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    public synchronized void record(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    /**
+     * Returns the latencies recorded since the last drain, sorted as {@link Latencies} expects, and starts a new
+     * window.
+     */
+    public synchronized long[] drain() {
+        long[] drained = Arrays.copyOf(values, size);
+        size = 0;
+        Arrays.sort(drained);
+
+        return drained;
+    }
+}
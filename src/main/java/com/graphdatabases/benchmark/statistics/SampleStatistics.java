@@ -0,0 +1,139 @@
+package com.graphdatabases.benchmark.statistics;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Median of a sample of execution times with its bootstrap 95% confidence interval and the outliers found by
+ * Tukey's fences (mild beyond 1.5, severe beyond 3 interquartile ranges).
+ */
+public class SampleStatistics {
+
+    private static final int BOOTSTRAP_RESAMPLES = 1000;
+    private static final long BOOTSTRAP_SEED = 42L;
+
+    private final int count;
+    private final double mean;
+    private final double median;
+    private final double lowerBound;
+    private final double upperBound;
+    private final int mildOutliers;
+    private final int severeOutliers;
+
+    private SampleStatistics(int count, double mean, double median, double lowerBound, double upperBound, int mildOutliers, int severeOutliers) {
+        this.count = count;
+        this.mean = mean;
+        this.median = median;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.mildOutliers = mildOutliers;
+        this.severeOutliers = severeOutliers;
+    }
+
+    /**
+     * Summarizes the first {@code count} values, of which there has to be at least one.
+     */
+    public static SampleStatistics of(long[] values, int count) {
+        if (count < 1) {
+            throw new BenchmarkException(String.format("Cannot summarize a sample of %d values, at least one run is needed.", count));
+        }
+
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (long value : sorted) {
+            sum += value;
+        }
+
+        // percentile bootstrap of the median, seeded so the same sample always gives the same interval
+        double[] medians = new double[BOOTSTRAP_RESAMPLES];
+        long[] resample = new long[count];
+        SplittableRandom random = new SplittableRandom(BOOTSTRAP_SEED);
+        for (int i = 0; i < BOOTSTRAP_RESAMPLES; i++) {
+            for (int j = 0; j < count; j++) {
+                resample[j] = sorted[random.nextInt(count)];
+            }
+            Arrays.sort(resample);
+            medians[i] = median(resample);
+        }
+        Arrays.sort(medians);
+
+        double firstQuartile = quantile(sorted, 0.25);
+        double thirdQuartile = quantile(sorted, 0.75);
+        double range = thirdQuartile - firstQuartile;
+        int mildOutliers = 0;
+        int severeOutliers = 0;
+        for (long value : sorted) {
+            if (value < firstQuartile - 3 * range || value > thirdQuartile + 3 * range) {
+                severeOutliers++;
+            } else if (value < firstQuartile - 1.5 * range || value > thirdQuartile + 1.5 * range) {
+                mildOutliers++;
+            }
+        }
+
+        return new SampleStatistics(count, sum / count, median(sorted),
+                medians[(int) (BOOTSTRAP_RESAMPLES * 0.025)], medians[(int) (BOOTSTRAP_RESAMPLES * 0.975) - 1], mildOutliers, severeOutliers);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Width of the confidence interval relative to the median.
+     */
+    public double getRelativeWidth() {
+        return median == 0 ? 0 : (upperBound - lowerBound) / median;
+    }
+
+    public int getMildOutliers() {
+        return mildOutliers;
+    }
+
+    public int getSevereOutliers() {
+        return severeOutliers;
+    }
+
+    private static double median(long[] sorted) {
+        return quantile(sorted, 0.5);
+    }
+
+    private static double quantile(long[] sorted, double quantile) {
+        double position = quantile * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = (int) Math.ceil(position);
+
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+    }
+
+    /**
+     * Formats the statistics of times recorded in nanoseconds.
+     */
+    @Override
+    public String toString() {
+        // microsecond operations would round to nothing in milliseconds
+        String unit = median < 1e6 ? "us" : "ms";
+        double scale = median < 1e6 ? 1e3 : 1e6;
+        return String.format("%d samples, median %.3f %s, mean %.3f %s, 95%% CI [%.3f, %.3f] %s (width %.1f%%), %d mild and %d severe outliers",
+                count, median / scale, unit, mean / scale, unit, lowerBound / scale, upperBound / scale, unit, getRelativeWidth() * 100, mildOutliers, severeOutliers);
+    }
+}
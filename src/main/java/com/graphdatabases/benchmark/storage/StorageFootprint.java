@@ -0,0 +1,106 @@
+package com.graphdatabases.benchmark.storage;
+
+import com.graphdatabases.benchmark.GraphEngine;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Disk and memory an engine uses for the current graph, normalized per node and per relationship so the Facebook
+ * baseline can be scaled to other graph sizes. Heap and off-heap usage are taken from this JVM as growth since a
+ * baseline; they describe the engine only when it runs embedded, for a server they show what the driver holds.
+ */
+public class StorageFootprint {
+
+    private final long nodes;
+    private final long relationships;
+    private final long storeBytes;
+    private final long indexBytes;
+    private final long heapBytes;
+    private final long offHeapBytes;
+
+    private StorageFootprint(long nodes, long relationships, long storeBytes, long indexBytes, long heapBytes, long offHeapBytes) {
+        this.nodes = nodes;
+        this.relationships = relationships;
+        this.storeBytes = storeBytes;
+        this.indexBytes = indexBytes;
+        this.heapBytes = heapBytes;
+        this.offHeapBytes = offHeapBytes;
+    }
+
+    public static StorageFootprint measure(GraphEngine engine, Memory baseline) {
+        Memory memory = Memory.snapshot();
+
+        return new StorageFootprint(engine.countNodes(), engine.countRelationships(), engine.getStoreSize(), engine.getIndexSize(),
+                memory.heapBytes - baseline.heapBytes, memory.offHeapBytes - baseline.offHeapBytes);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getRelationships() {
+        return relationships;
+    }
+
+    public long getStoreBytes() {
+        return storeBytes;
+    }
+
+    public long getIndexBytes() {
+        return indexBytes;
+    }
+
+    public long getHeapBytes() {
+        return heapBytes;
+    }
+
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d nodes, %d relationships; store %s; indexes %s; heap %s; off-heap %s", nodes, relationships,
+                storeBytes < 0 ? "not reported" : describe(storeBytes), indexBytes < 0 ? "not reported" : describe(indexBytes),
+                describe(heapBytes), describe(offHeapBytes));
+    }
+
+    private String describe(long bytes) {
+        return String.format("%.1f MB (%.1f bytes/node, %.1f bytes/relationship)", bytes / 1e6,
+                nodes == 0 ? 0.0 : (double) bytes / nodes, relationships == 0 ? 0.0 : (double) bytes / relationships);
+    }
+
+    /**
+     * Heap and direct or mapped buffer usage of this JVM after a garbage collection.
+     */
+    public static class Memory {
+
+        private final long heapBytes;
+        private final long offHeapBytes;
+
+        private Memory(long heapBytes, long offHeapBytes) {
+            this.heapBytes = heapBytes;
+            this.offHeapBytes = offHeapBytes;
+        }
+
+        public static Memory snapshot() {
+            System.gc();
+
+            long offHeapBytes = 0;
+            for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+                offHeapBytes += Math.max(0, pool.getMemoryUsed());
+            }
+
+            return new Memory(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), offHeapBytes);
+        }
+
+        public long getHeapBytes() {
+            return heapBytes;
+        }
+
+        public long getOffHeapBytes() {
+            return offHeapBytes;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.graphdatabases.benchmark.timing;
+
+import java.util.*;
+
+/**
+ * Splits the client latency of the invocations of one benchmark into server execution, transfer and decoding (time
+ * inside driver calls not accounted for by the server) and client overhead (everything outside driver calls).
+ */
+public class LatencyBreakdown {
+
+    private final List<Long> totals = new ArrayList<>();
+    private final List<Long> servers = new ArrayList<>();
+    private final List<Long> transfers = new ArrayList<>();
+    private final List<Long> clients = new ArrayList<>();
+    private final Map<String, Long> statistics = new LinkedHashMap<>();
+    private boolean serverReported;
+
+    public void add(long totalNanos, ServerTimings.Capture capture) {
+        long server = capture.isServerReported() ? Math.min(capture.getServerNanos(), capture.getDriverNanos()) : 0;
+        totals.add(totalNanos);
+        servers.add(server);
+        transfers.add(capture.getDriverNanos() - server);
+        clients.add(Math.max(0, totalNanos - capture.getDriverNanos()));
+        serverReported |= capture.isServerReported();
+        for (Map.Entry<String, Long> statistic : capture.getStatistics().entrySet()) {
+            statistics.merge(statistic.getKey(), statistic.getValue(), Long::sum);
+        }
+    }
+
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("median total %.3f ms: ", median(totals) / 1e6));
+        if (serverReported) {
+            builder.append(String.format("server %.3f ms, transfer/decoding %.3f ms", median(servers) / 1e6, median(transfers) / 1e6));
+        } else {
+            builder.append(String.format("driver %.3f ms (server time not reported)", median(transfers) / 1e6));
+        }
+        builder.append(String.format(", client %.3f ms", median(clients) / 1e6));
+
+        if (!statistics.isEmpty()) {
+            builder.append(", per invocation");
+            for (Map.Entry<String, Long> statistic : statistics.entrySet()) {
+                builder.append(String.format(" %s=%.1f", statistic.getKey(), (double) statistic.getValue() / totals.size()));
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static double median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.graphdatabases.benchmark.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects what the engines learn about the requests they send while one benchmark invocation runs on the current
+ * thread: the time spent inside driver calls, the execution time the server reports for them and server counters
+ * such as scanned documents. Engines record unconditionally; outside of a capture the calls do nothing.
+ */
+public final class ServerTimings {
+
+    /**
+     * Engines that obtain timings only by running a statement a second time, such as OrientDB with EXPLAIN, do so
+     * only when this property is set, since the repeated execution doubles the load on the server.
+     */
+    public static final String REEXECUTE_PROPERTY = "benchmark.timings.reexecute";
+
+    private static final boolean REEXECUTE = Boolean.getBoolean(REEXECUTE_PROPERTY);
+
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    private ServerTimings() {
+    }
+
+    public static void start() {
+        CAPTURE.set(new Capture());
+    }
+
+    public static Capture stop() {
+        Capture capture = CAPTURE.get();
+        CAPTURE.remove();
+
+        return capture;
+    }
+
+    public static boolean isCapturing() {
+        return CAPTURE.get() != null;
+    }
+
+    /**
+     * Whether timings that need the statement executed once more should be captured.
+     */
+    public static boolean isCapturingReexecuted() {
+        return REEXECUTE && isCapturing();
+    }
+
+    /**
+     * Records one request: the client time from sending it until its results were decoded and the server execution
+     * time, or a negative value when the server does not report one.
+     */
+    public static void recordRequest(long driverNanos, long serverNanos) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.driverNanos += driverNanos;
+            if (serverNanos >= 0) {
+                capture.serverNanos += serverNanos;
+                capture.serverReported = true;
+            }
+        }
+    }
+
+    public static void recordStatistic(String name, long value) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.statistics.merge(name, value, Long::sum);
+        }
+    }
+
+    /**
+     * Records time spent on extra requests made only to obtain timings, which is excluded from the measurement.
+     */
+    public static void recordOverhead(long nanos) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.overheadNanos += nanos;
+        }
+    }
+
+    public static class Capture {
+
+        private long driverNanos;
+        private long serverNanos;
+        private boolean serverReported;
+        private long overheadNanos;
+        private final Map<String, Long> statistics = new LinkedHashMap<>();
+
+        public long getDriverNanos() {
+            return driverNanos;
+        }
+
+        public long getServerNanos() {
+            return serverNanos;
+        }
+
+        public boolean isServerReported() {
+            return serverReported;
+        }
+
+        public long getOverheadNanos() {
+            return overheadNanos;
+        }
+
+        public Map<String, Long> getStatistics() {
+            return statistics;
+        }
+    }
+}
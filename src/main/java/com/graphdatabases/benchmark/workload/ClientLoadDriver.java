@@ -0,0 +1,194 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.statistics.Latencies;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates many concurrent users, each a client running its own series of {@link WorkloadMix} operations through
+ * the blocking engine APIs. The clients run either on a fixed pool of platform threads, which queues the clients
+ * beyond its size, or on one virtual thread each, so every client is in flight at once. A client is ready for its
+ * first operation at the common start and for every later one as soon as the previous one returns; the time from
+ * ready until the operation actually runs is reported as queueing delay next to the latency of the operation.
+ */
+public class ClientLoadDriver {
+
+    public enum Threads {
+        PLATFORM, VIRTUAL
+    }
+
+    private static final int TOP_PINNING_FRAMES = 5;
+
+    private final GraphEngine engine;
+    private final WorkloadMix mix;
+    private final TargetSelector selector;
+    private final int operationsPerClient;
+    private final long seed;
+
+    public ClientLoadDriver(GraphEngine engine, WorkloadMix mix, TargetSelector selector, int operationsPerClient, long seed) {
+        this.engine = engine;
+        this.mix = mix;
+        this.selector = selector;
+        this.operationsPerClient = operationsPerClient;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs {@code clients} clients on virtual threads or on a pool of {@code platformThreads} platform threads.
+     */
+    public Result run(int clients, Threads threads, int platformThreads) {
+        ExecutorService executor = threads == Threads.VIRTUAL ? newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(platformThreads);
+        PinningMonitor monitor = threads == Threads.VIRTUAL ? PinningMonitor.start() : null;
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong origin = new AtomicLong();
+        List<Future<long[][]>> futures = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            SplittableRandom random = seeds.split();
+            futures.add(executor.submit(() -> client(random, start, origin)));
+        }
+
+        long[] latencies = new long[clients * operationsPerClient];
+        long[] queueing = new long[clients * operationsPerClient];
+        long begin = System.nanoTime();
+        origin.set(begin);
+        start.countDown();
+        try {
+            for (int client = 0; client < clients; client++) {
+                long[][] times = futures.get(client).get();
+                System.arraycopy(times[0], 0, latencies, client * operationsPerClient, operationsPerClient);
+                System.arraycopy(times[1], 0, queueing, client * operationsPerClient, operationsPerClient);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException("Client load interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Client load failed. Message: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            if (monitor != null) {
+                monitor.close();
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        Arrays.sort(latencies);
+        Arrays.sort(queueing);
+
+        return new Result(clients, threads == Threads.VIRTUAL ? "virtual" : String.format("%d platform", platformThreads), latencies, queueing, elapsed,
+                monitor != null ? monitor.getPins() : 0, monitor != null ? monitor.getFrames() : Collections.emptyMap());
+    }
+
+    /**
+     * Returns the latencies of the operations of one client and the queueing delay before each of them.
+     */
+    private long[][] client(SplittableRandom random, CountDownLatch start, AtomicLong origin) throws InterruptedException {
+        long[] latencies = new long[operationsPerClient];
+        long[] queueing = new long[operationsPerClient];
+        start.await();
+        long ready = origin.get();
+        for (int i = 0; i < operationsPerClient; i++) {
+            Operation operation = mix.next(random);
+            int nodeId = selector.next(random);
+            int otherNodeId = selector.next(random);
+
+            long begin = System.nanoTime();
+            operation.execute(engine, nodeId, otherNodeId);
+            long end = System.nanoTime();
+            latencies[i] = end - begin;
+            queueing[i] = begin - ready;
+            ready = end;
+        }
+
+        return new long[][]{latencies, queueing};
+    }
+
+    /**
+     * Looks the virtual thread executor up at run time, so the harness still builds for Java 8.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        MethodHandle factory;
+        try {
+            factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new BenchmarkException("Virtual threads need Java 21, build with -Pjava21 and run on a Java 21 JVM.", e);
+        }
+
+        try {
+            return (ExecutorService) factory.invokeExact();
+        } catch (Throwable e) {
+            throw new BenchmarkException(String.format("Failed to create virtual thread executor. Message: %s", e.getMessage()), e);
+        }
+    }
+
+    public static class Result {
+
+        private final int clients;
+        private final String threads;
+        private final long[] sortedLatencies;
+        private final long[] sortedQueueing;
+        private final long elapsedNanos;
+        private final long pins;
+        private final Map<String, Long> pinningFrames;
+
+        Result(int clients, String threads, long[] sortedLatencies, long[] sortedQueueing, long elapsedNanos, long pins, Map<String, Long> pinningFrames) {
+            this.clients = clients;
+            this.threads = threads;
+            this.sortedLatencies = sortedLatencies;
+            this.sortedQueueing = sortedQueueing;
+            this.elapsedNanos = elapsedNanos;
+            this.pins = pins;
+            this.pinningFrames = pinningFrames;
+        }
+
+        public double getThroughput() {
+            return sortedLatencies.length * 1e9 / elapsedNanos;
+        }
+
+        public long getPercentileMicros(double percentile) {
+            return Latencies.percentileMicros(sortedLatencies, percentile);
+        }
+
+        /**
+         * Time a ready client waited for a thread before its operation ran, in microseconds.
+         */
+        public long getQueueingPercentileMicros(double percentile) {
+            return Latencies.percentileMicros(sortedQueueing, percentile);
+        }
+
+        public long getPins() {
+            return pins;
+        }
+
+        public Map<String, Long> getPinningFrames() {
+            return pinningFrames;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("%d clients on %s threads: %.1f operations/s, %s",
+                    clients, threads, getThroughput(), Latencies.summarize(sortedLatencies)));
+            builder.append(String.format(", queueing us p50=%d p99=%d max=%d",
+                    getQueueingPercentileMicros(50), getQueueingPercentileMicros(99), getQueueingPercentileMicros(100)));
+            if (pins > 0) {
+                builder.append(String.format(", %d pinned blocks", pins));
+                int shown = 0;
+                for (Map.Entry<String, Long> frame : pinningFrames.entrySet()) {
+                    if (shown++ == TOP_PINNING_FRAMES) {
+                        break;
+                    }
+                    builder.append(String.format("%n  pinned in %s: %d", frame.getKey(), frame.getValue()));
+                }
+            }
+
+            return builder.toString();
+        }
+    }
+}
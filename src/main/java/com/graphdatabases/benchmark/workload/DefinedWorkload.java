@@ -0,0 +1,181 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.PreparedQuery;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.statistics.Latencies;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs a {@link WorkloadDefinition} against one engine. The query templates are prepared and the parameter
+ * generators built once, up front, so the timed region of an operation only draws the parameter values and executes
+ * the prepared query.
+ */
+public class DefinedWorkload {
+
+    private final WorkloadDefinition definition;
+    private final String[] names;
+    private final PreparedQuery[] queries;
+    private final ParameterGenerator[][] generators;
+    private final double[] cumulativeWeights;
+    private final long seed;
+
+    public DefinedWorkload(GraphEngine engine, WorkloadDefinition definition, ReferenceGraph graph, long seed) {
+        this.definition = definition;
+        this.seed = definition.getSeed() != null ? definition.getSeed() : seed;
+
+        Map<String, ParameterGenerator> parameters = new HashMap<>();
+        for (Map.Entry<String, JsonNode> parameter : definition.getParameters().entrySet()) {
+            parameters.put(parameter.getKey(), ParameterGenerator.of(parameter.getKey(), parameter.getValue(), graph, this.seed));
+        }
+
+        List<WorkloadDefinition.OperationDefinition> operations = definition.getOperations();
+        names = new String[operations.size()];
+        queries = new PreparedQuery[operations.size()];
+        generators = new ParameterGenerator[operations.size()][];
+        cumulativeWeights = new double[operations.size()];
+        double total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            WorkloadDefinition.OperationDefinition operation = operations.get(i);
+            String query = operation.getQuery(engine.getName());
+            if (query == null) {
+                throw new BenchmarkException(String.format("Operation %s of workload %s has no query for %s.", operation.getName(), definition.getName(), engine.getName()));
+            }
+
+            names[i] = operation.getName();
+            queries[i] = engine.prepare(query, operation.getParameterNames());
+            generators[i] = new ParameterGenerator[operation.getParameterNames().size()];
+            for (int j = 0; j < generators[i].length; j++) {
+                generators[i][j] = parameters.get(operation.getParameterNames().get(j));
+            }
+            total += operation.getWeight();
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new BenchmarkException(String.format("Workload %s has no operation with a positive weight.", definition.getName()));
+        }
+    }
+
+    public Result run() {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(definition.getThreads());
+        List<Future<long[][]>> clients = new ArrayList<>();
+        for (int thread = 0; thread < definition.getThreads(); thread++) {
+            SplittableRandom random = seeds.split();
+            clients.add(executor.submit(() -> client(random, start)));
+        }
+
+        long[][] latencies = new long[names.length][0];
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<long[][]> client : clients) {
+                long[][] recorded = client.get();
+                for (int i = 0; i < names.length; i++) {
+                    long[] merged = Arrays.copyOf(latencies[i], latencies[i].length + recorded[i].length);
+                    System.arraycopy(recorded[i], 0, merged, latencies[i].length, recorded[i].length);
+                    latencies[i] = merged;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException("Workload interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Workload failed. Message: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        Map<String, long[]> sortedLatencies = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Arrays.sort(latencies[i]);
+            sortedLatencies.put(names[i], latencies[i]);
+        }
+
+        return new Result(sortedLatencies, elapsed);
+    }
+
+    private long[][] client(SplittableRandom random, CountDownLatch start) throws InterruptedException {
+        long[][] latencies = new long[names.length][16];
+        int[] counts = new int[names.length];
+        Object[][] values = new Object[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = new Object[generators[i].length];
+        }
+
+        start.await();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(definition.getDurationMillis());
+        for (int operations = 0; definition.getDurationMillis() > 0 ? System.nanoTime() < deadline : operations < definition.getOperationsPerThread(); operations++) {
+            int operation = next(random);
+            Object[] operationValues = values[operation];
+            for (int i = 0; i < operationValues.length; i++) {
+                operationValues[i] = generators[operation][i].next(random);
+            }
+
+            long begin = System.nanoTime();
+            queries[operation].execute(operationValues);
+            long elapsed = System.nanoTime() - begin;
+
+            if (counts[operation] == latencies[operation].length) {
+                latencies[operation] = Arrays.copyOf(latencies[operation], counts[operation] * 2);
+            }
+            latencies[operation][counts[operation]++] = elapsed;
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            latencies[i] = Arrays.copyOf(latencies[i], counts[i]);
+        }
+        return latencies;
+    }
+
+    private int next(SplittableRandom random) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+
+        return cumulativeWeights.length - 1;
+    }
+
+    public static class Result {
+
+        private final Map<String, long[]> sortedLatencies;
+        private final long elapsedNanos;
+
+        Result(Map<String, long[]> sortedLatencies, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Map<String, long[]> getSortedLatencies() {
+            return sortedLatencies;
+        }
+
+        public double getThroughput() {
+            long operations = 0;
+            for (long[] recorded : sortedLatencies.values()) {
+                operations += recorded.length;
+            }
+
+            return operations * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("%.1f operations/s", getThroughput()));
+            for (Map.Entry<String, long[]> entry : sortedLatencies.entrySet()) {
+                builder.append(String.format("%n  %s: %d operations, %s", entry.getKey(), entry.getValue().length, Latencies.summarize(entry.getValue())));
+            }
+
+            return builder.toString();
+        }
+    }
+}
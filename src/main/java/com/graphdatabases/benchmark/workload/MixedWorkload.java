@@ -0,0 +1,135 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.statistics.Latencies;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs a {@link WorkloadMix} from several client threads at once, so reads execute while writes are in flight.
+ * Every thread draws operations and targets from its own random stream split off the workload seed, which makes a
+ * run reproducible for a given thread count.
+ */
+public class MixedWorkload {
+
+    private final GraphEngine engine;
+    private final WorkloadMix mix;
+    private final TargetSelector selector;
+    private final int threads;
+    private final int operationsPerThread;
+    private final long seed;
+
+    public MixedWorkload(GraphEngine engine, WorkloadMix mix, TargetSelector selector, int threads, int operationsPerThread, long seed) {
+        this.engine = engine;
+        this.mix = mix;
+        this.selector = selector;
+        this.threads = threads;
+        this.operationsPerThread = operationsPerThread;
+        this.seed = seed;
+    }
+
+    public Result run() {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Map<Operation, long[]>>> clients = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            SplittableRandom random = seeds.split();
+            clients.add(executor.submit(() -> {
+                Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+                Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+                start.await();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    Operation operation = mix.next(random);
+                    int nodeId = selector.next(random);
+                    int otherNodeId = selector.next(random);
+
+                    long begin = System.nanoTime();
+                    operation.execute(engine, nodeId, otherNodeId);
+                    long elapsed = System.nanoTime() - begin;
+
+                    int count = counts.merge(operation, 1, Integer::sum);
+                    long[] recorded = latencies.computeIfAbsent(operation, key -> new long[16]);
+                    if (count > recorded.length) {
+                        recorded = Arrays.copyOf(recorded, recorded.length * 2);
+                        latencies.put(operation, recorded);
+                    }
+                    recorded[count - 1] = elapsed;
+                }
+
+                for (Map.Entry<Operation, Integer> count : counts.entrySet()) {
+                    latencies.put(count.getKey(), Arrays.copyOf(latencies.get(count.getKey()), count.getValue()));
+                }
+                return latencies;
+            }));
+        }
+
+        Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<Map<Operation, long[]>> client : clients) {
+                for (Map.Entry<Operation, long[]> entry : client.get().entrySet()) {
+                    latencies.merge(entry.getKey(), entry.getValue(), MixedWorkload::concat);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException("Workload interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Workload failed. Message: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        for (long[] recorded : latencies.values()) {
+            Arrays.sort(recorded);
+        }
+
+        return new Result(latencies, elapsed);
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+
+        return result;
+    }
+
+    public static class Result {
+
+        private final Map<Operation, long[]> sortedLatencies;
+        private final long elapsedNanos;
+
+        Result(Map<Operation, long[]> sortedLatencies, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Map<Operation, long[]> getSortedLatencies() {
+            return sortedLatencies;
+        }
+
+        public double getThroughput() {
+            long operations = 0;
+            for (long[] recorded : sortedLatencies.values()) {
+                operations += recorded.length;
+            }
+
+            return operations * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("%.1f operations/s", getThroughput()));
+            for (Map.Entry<Operation, long[]> entry : sortedLatencies.entrySet()) {
+                builder.append(String.format("%n  %s: %d operations, %s", entry.getKey().getKey(), entry.getValue().length, Latencies.summarize(entry.getValue())));
+            }
+
+            return builder.toString();
+        }
+    }
+}
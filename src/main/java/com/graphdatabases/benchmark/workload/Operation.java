@@ -0,0 +1,67 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.ingest.Retry;
+
+/**
+ * The operations a workload mix is made of. Each one is applied to a target node drawn from the workload's
+ * distribution; edge inserts connect it to a second, independently drawn node.
+ */
+public enum Operation {
+
+    LOOKUP("lookup") {
+        @Override
+        void execute(GraphEngine engine, int nodeId, int otherNodeId) {
+            engine.findNode(nodeId);
+        }
+    },
+    ONE_HOP_READ("oneHop") {
+        @Override
+        void execute(GraphEngine engine, int nodeId, int otherNodeId) {
+            engine.findNeighbors(nodeId, 1);
+        }
+    },
+    TWO_HOP_READ("twoHop") {
+        @Override
+        void execute(GraphEngine engine, int nodeId, int otherNodeId) {
+            engine.findNeighbors(nodeId, 2);
+        }
+    },
+    PROPERTY_UPDATE("update") {
+        @Override
+        void execute(GraphEngine engine, int nodeId, int otherNodeId) {
+            engine.updateNode(nodeId, "John", String.format("Doe-%d", otherNodeId));
+        }
+    },
+    EDGE_INSERT("insert") {
+        @Override
+        void execute(GraphEngine engine, int nodeId, int otherNodeId) throws InterruptedException {
+            Retry.run(engine, () -> engine.createRelationships(new int[]{nodeId}, new int[]{otherNodeId}, 1), MAX_RETRIES);
+        }
+    };
+
+    private static final int MAX_RETRIES = 10;
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    abstract void execute(GraphEngine engine, int nodeId, int otherNodeId) throws InterruptedException;
+
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+
+        throw new BenchmarkException(String.format("Unknown operation: %s", key));
+    }
+}
@@ -0,0 +1,67 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws the value of one query parameter of a workload file.
+ */
+public interface ParameterGenerator {
+
+    Object next(SplittableRandom random);
+
+    /**
+     * Creates the generator declared by {@code spec}:
+     * <ul>
+     * <li>{@code {"type": "node", "distribution": "zipfian"}} draws a node id with a {@link TargetSelector}</li>
+     * <li>{@code {"type": "int", "min": 0, "max": 100}} draws an integer from the inclusive range</li>
+     * <li>{@code {"type": "choice", "values": ["a", "b"]}} picks one of the values</li>
+     * <li>{@code {"type": "constant", "value": 1}} always returns the value</li>
+     * </ul>
+     */
+    static ParameterGenerator of(String name, JsonNode spec, ReferenceGraph graph, long seed) {
+        String type = spec.path("type").asText();
+        switch (type) {
+            case "node":
+                TargetSelector selector = TargetSelector.of(spec.path("distribution").asText("uniform"), graph, seed);
+                return selector::next;
+            case "int":
+                int min = spec.path("min").asInt(0);
+                int max = spec.path("max").asInt(Integer.MAX_VALUE - 1);
+                if (max < min) {
+                    throw new BenchmarkException(String.format("Parameter %s has max below min.", name));
+                }
+                return random -> min + random.nextInt(max - min + 1);
+            case "choice":
+                JsonNode values = spec.path("values");
+                if (!values.isArray() || values.size() == 0) {
+                    throw new BenchmarkException(String.format("Parameter %s needs a non-empty values array.", name));
+                }
+                Object[] choices = new Object[values.size()];
+                for (int i = 0; i < choices.length; i++) {
+                    choices[i] = valueOf(values.get(i));
+                }
+                return random -> choices[random.nextInt(choices.length)];
+            case "constant":
+                Object value = valueOf(spec.path("value"));
+                return random -> value;
+            default:
+                throw new BenchmarkException(String.format("Unknown type of parameter %s: %s", name, type));
+        }
+    }
+
+    static Object valueOf(JsonNode node) {
+        if (node.isIntegralNumber()) {
+            return node.canConvertToInt() ? (Object) node.asInt() : (Object) node.asLong();
+        } else if (node.isNumber()) {
+            return node.asDouble();
+        } else if (node.isBoolean()) {
+            return node.asBoolean();
+        }
+
+        return node.asText();
+    }
+}
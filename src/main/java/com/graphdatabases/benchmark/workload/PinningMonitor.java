@@ -0,0 +1,35 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.Map;
+
+/**
+ * Counts the times a virtual thread blocked while pinned to its carrier thread, for example inside a
+ * {@code synchronized} block of a connection pool, and the driver frames it happened in. The implementation needs the
+ * flight recorder streaming API of Java 21, so it is only compiled by the java21 profile and looked up at run time.
+ */
+public interface PinningMonitor extends AutoCloseable {
+
+    String IMPLEMENTATION = "com.graphdatabases.benchmark.workload.JfrPinningMonitor";
+
+    long getPins();
+
+    /**
+     * Pins per driver frame, most frequent first.
+     */
+    Map<String, Long> getFrames();
+
+    @Override
+    void close();
+
+    static PinningMonitor start() {
+        try {
+            return (PinningMonitor) Class.forName(IMPLEMENTATION).getConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new BenchmarkException("Pinning detection needs Java 21, build with -Pjava21 and run on a Java 21 JVM.", e);
+        } catch (ReflectiveOperationException e) {
+            throw new BenchmarkException(String.format("Failed to start pinning monitor. Message: %s", e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import com.graphdatabases.benchmark.soak.ProcessResources;
+import com.graphdatabases.benchmark.statistics.Latencies;
+import com.graphdatabases.benchmark.statistics.LatencyWindow;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs a {@link WorkloadMix} from several client threads without pause for a long time. Every window the throughput
+ * and latencies of the window are sampled together with the resources the engine holds open and those of this JVM,
+ * so slow leaks of sessions, pooled connections, cursors, memory or file descriptors show up as growth over the run.
+ */
+public class SoakRunner {
+
+    private final GraphEngine engine;
+    private final WorkloadMix mix;
+    private final TargetSelector selector;
+    private final int threads;
+    private final long durationMillis;
+    private final long windowMillis;
+    private final long seed;
+
+    private final LatencyWindow latencies = new LatencyWindow();
+
+    private volatile boolean running;
+
+    public SoakRunner(GraphEngine engine, WorkloadMix mix, TargetSelector selector, int threads, long durationMillis, long windowMillis, long seed) {
+        this.engine = engine;
+        this.mix = mix;
+        this.selector = selector;
+        this.threads = threads;
+        this.durationMillis = durationMillis;
+        this.windowMillis = windowMillis;
+        this.seed = seed;
+    }
+
+    public List<Sample> run() {
+        List<Sample> samples = new ArrayList<>();
+
+        running = true;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> clients = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int thread = 0; thread < threads; thread++) {
+            SplittableRandom random = seeds.split();
+            clients.add(executor.submit(() -> client(random)));
+        }
+
+        try {
+            long start = System.nanoTime();
+            long windowStart = start;
+            long elapsedMillis = 0;
+            while (elapsedMillis < durationMillis) {
+                Thread.sleep(Math.min(windowMillis, durationMillis - elapsedMillis));
+                long now = System.nanoTime();
+                elapsedMillis = TimeUnit.NANOSECONDS.toMillis(now - start);
+
+                for (Future<?> client : clients) {
+                    if (client.isDone()) {
+                        client.get();
+                    }
+                }
+
+                long[] window = latencies.drain();
+                Map<String, Long> resources = new LinkedHashMap<>(engine.getOpenResources());
+                resources.putAll(ProcessResources.snapshot());
+
+                Sample sample = new Sample(elapsedMillis, window, now - windowStart, resources);
+                System.out.println(sample);
+                samples.add(sample);
+                windowStart = now;
+            }
+
+            running = false;
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BenchmarkException("Soak run interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new BenchmarkException(String.format("Soak run failed. Message: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            running = false;
+            executor.shutdownNow();
+        }
+
+        return samples;
+    }
+
+    private Void client(SplittableRandom random) throws InterruptedException {
+        while (running) {
+            Operation operation = mix.next(random);
+            int nodeId = selector.next(random);
+            int otherNodeId = selector.next(random);
+
+            long begin = System.nanoTime();
+            operation.execute(engine, nodeId, otherNodeId);
+            latencies.record(System.nanoTime() - begin);
+        }
+
+        return null;
+    }
+
+    public static class Sample {
+
+        private final long elapsedMillis;
+        private final long[] sortedLatencies;
+        private final long windowNanos;
+        private final Map<String, Long> resources;
+
+        Sample(long elapsedMillis, long[] sortedLatencies, long windowNanos, Map<String, Long> resources) {
+            this.elapsedMillis = elapsedMillis;
+            this.sortedLatencies = sortedLatencies;
+            this.windowNanos = windowNanos;
+            this.resources = resources;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public double getThroughput() {
+            return windowNanos == 0 ? 0 : sortedLatencies.length * 1e9 / windowNanos;
+        }
+
+        public long getPercentileMicros(double percentile) {
+            return Latencies.percentileMicros(sortedLatencies, percentile);
+        }
+
+        public Map<String, Long> getResources() {
+            return resources;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("t=%ds operations=%d (%.1f operations/s, %s)",
+                    elapsedMillis / 1000, sortedLatencies.length, getThroughput(), Latencies.summarize(sortedLatencies)));
+            for (Map.Entry<String, Long> resource : resources.entrySet()) {
+                builder.append(String.format(" %s=%d", resource.getKey(), resource.getValue()));
+            }
+
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws the node an operation is applied to.
+ */
+public interface TargetSelector {
+
+    double DEFAULT_ZIPF_EXPONENT = 0.99;
+
+    int next(SplittableRandom random);
+
+    /**
+     * Creates the selector named {@code uniform}, {@code zipfian} or {@code degree}.
+     */
+    static TargetSelector of(String distribution, ReferenceGraph graph, long seed) {
+        switch (distribution) {
+            case "uniform":
+                return uniform(graph.getNodeIds());
+            case "zipfian":
+                return zipfian(graph.getNodeIds(), DEFAULT_ZIPF_EXPONENT, seed);
+            case "degree":
+                return degreeWeighted(graph);
+            default:
+                throw new BenchmarkException(String.format("Unknown target distribution: %s", distribution));
+        }
+    }
+
+    static TargetSelector uniform(int[] nodeIds) {
+        return random -> nodeIds[random.nextInt(nodeIds.length)];
+    }
+
+    /**
+     * Zipf over a seeded shuffle of the nodes, so the hot set is not tied to the ordering of node ids.
+     */
+    static TargetSelector zipfian(int[] nodeIds, double exponent, long seed) {
+        int[] ranked = nodeIds.clone();
+        SplittableRandom shuffle = new SplittableRandom(seed);
+        for (int i = ranked.length - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            int swap = ranked[i];
+            ranked[i] = ranked[j];
+            ranked[j] = swap;
+        }
+
+        double[] weights = new double[ranked.length];
+        for (int rank = 0; rank < ranked.length; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+
+        return weighted(ranked, weights);
+    }
+
+    /**
+     * Picks nodes proportionally to their degree, as a random edge endpoint would.
+     */
+    static TargetSelector degreeWeighted(ReferenceGraph graph) {
+        int[] nodeIds = graph.getNodeIds();
+        double[] weights = new double[nodeIds.length];
+        for (int i = 0; i < nodeIds.length; i++) {
+            weights[i] = graph.getDegree(nodeIds[i]);
+        }
+
+        return weighted(nodeIds, weights);
+    }
+
+    static TargetSelector weighted(int[] nodeIds, double[] weights) {
+        double[] cumulativeWeights = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+
+        double sum = total;
+        return random -> {
+            int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble() * sum);
+            index = index < 0 ? -index - 1 : index + 1;
+            return nodeIds[Math.min(index, nodeIds.length - 1)];
+        };
+    }
+}
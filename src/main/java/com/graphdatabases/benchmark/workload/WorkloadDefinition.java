@@ -0,0 +1,166 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A workload read from a JSON file: operations with a query template per engine, the parameters the templates use,
+ * their mix ratios and how long to run. For example:
+ * <pre>
+ * {
+ *   "name": "friends of friends",
+ *   "threads": 4,
+ *   "operationsPerThread": 1000,
+ *   "parameters": { "node": { "type": "node", "distribution": "zipfian" } },
+ *   "operations": [{
+ *     "name": "twoHop",
+ *     "weight": 80,
+ *     "parameters": ["node"],
+ *     "queries": {
+ *       "neo4j": "MATCH (:Person { nodeId: $node })-[:FRIEND]->()-[:FRIEND]->(f) RETURN DISTINCT f",
+ *       "orientdb": "SELECT EXPAND(OUT('Friend').OUT('Friend')) FROM Person WHERE nodeId = :node",
+ *       "arangodb": "FOR p IN Persons FILTER p.nodeId == TO_STRING(@node) FOR f IN 2..2 OUTBOUND p Friends RETURN DISTINCT f"
+ *     }
+ *   }]
+ * }
+ * </pre>
+ * A positive {@code durationSeconds} runs every thread for that long instead of {@code operationsPerThread}
+ * operations.
+ */
+public class WorkloadDefinition {
+
+    private final String name;
+    private final int threads;
+    private final int operationsPerThread;
+    private final long durationMillis;
+    private final Long seed;
+    private final Map<String, JsonNode> parameters;
+    private final List<OperationDefinition> operations;
+
+    private WorkloadDefinition(String name, int threads, int operationsPerThread, long durationMillis, Long seed, Map<String, JsonNode> parameters, List<OperationDefinition> operations) {
+        this.name = name;
+        this.threads = threads;
+        this.operationsPerThread = operationsPerThread;
+        this.durationMillis = durationMillis;
+        this.seed = seed;
+        this.parameters = parameters;
+        this.operations = operations;
+    }
+
+    public static WorkloadDefinition read(String path) {
+        JsonNode root;
+        try {
+            root = new ObjectMapper().readTree(new File(path));
+        } catch (IOException e) {
+            throw new BenchmarkException(String.format("Failed to read workload file %s.", path), e);
+        }
+
+        Map<String, JsonNode> parameters = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = root.path("parameters").fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            parameters.put(field.getKey(), field.getValue());
+        }
+
+        List<OperationDefinition> operations = new ArrayList<>();
+        for (JsonNode operation : root.path("operations")) {
+            String operationName = operation.path("name").asText();
+            double weight = operation.path("weight").asDouble(1);
+            if (operationName.isEmpty() || weight < 0) {
+                throw new BenchmarkException(String.format("Operation without a name or with a negative weight in %s.", path));
+            }
+
+            List<String> parameterNames = new ArrayList<>();
+            for (JsonNode parameterName : operation.path("parameters")) {
+                if (!parameters.containsKey(parameterName.asText())) {
+                    throw new BenchmarkException(String.format("Operation %s refers to unknown parameter %s.", operationName, parameterName.asText()));
+                }
+                parameterNames.add(parameterName.asText());
+            }
+
+            Map<String, String> queries = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = operation.path("queries").fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                queries.put(field.getKey(), field.getValue().asText());
+            }
+
+            operations.add(new OperationDefinition(operationName, weight, parameterNames, queries));
+        }
+        if (operations.isEmpty()) {
+            throw new BenchmarkException(String.format("Workload file %s defines no operations.", path));
+        }
+
+        return new WorkloadDefinition(root.path("name").asText(new File(path).getName()), root.path("threads").asInt(1),
+                root.path("operationsPerThread").asInt(1000), root.path("durationSeconds").asLong(0) * 1000,
+                root.hasNonNull("seed") ? root.get("seed").asLong() : null, parameters, operations);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getOperationsPerThread() {
+        return operationsPerThread;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * The seed given in the file, or null to use the seed of the run.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    public Map<String, JsonNode> getParameters() {
+        return parameters;
+    }
+
+    public List<OperationDefinition> getOperations() {
+        return operations;
+    }
+
+    public static class OperationDefinition {
+
+        private final String name;
+        private final double weight;
+        private final List<String> parameterNames;
+        private final Map<String, String> queries;
+
+        OperationDefinition(String name, double weight, List<String> parameterNames, Map<String, String> queries) {
+            this.name = name;
+            this.weight = weight;
+            this.parameterNames = parameterNames;
+            this.queries = queries;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public List<String> getParameterNames() {
+            return parameterNames;
+        }
+
+        /**
+         * The query template for the engine with the given name, or null if the file has none.
+         */
+        public String getQuery(String engineName) {
+            return queries.get(engineName);
+        }
+    }
+}
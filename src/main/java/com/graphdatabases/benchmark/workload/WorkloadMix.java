@@ -0,0 +1,76 @@
+package com.graphdatabases.benchmark.workload;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+
+import java.util.*;
+
+/**
+ * Relative weights of the operations of a workload, parsed from a declaration such as
+ * {@code oneHop:80,twoHop:10,update:5,insert:5}. Weights need not add up to 100.
+ */
+public class WorkloadMix {
+
+    private final Operation[] operations;
+    private final double[] cumulativeWeights;
+
+    private WorkloadMix(Operation[] operations, double[] cumulativeWeights) {
+        this.operations = operations;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    public static WorkloadMix parse(String declaration) {
+        Map<Operation, Double> weights = new LinkedHashMap<>();
+        for (String entry : declaration.split(",")) {
+            String[] values = entry.trim().split(":");
+            if (values.length != 2) {
+                throw new BenchmarkException(String.format("Invalid workload mix entry: %s", entry));
+            }
+
+            double weight = Double.parseDouble(values[1].trim());
+            if (weight < 0) {
+                throw new BenchmarkException(String.format("Negative weight in workload mix: %s", entry));
+            }
+            weights.merge(Operation.of(values[0].trim()), weight, Double::sum);
+        }
+
+        Operation[] operations = weights.keySet().toArray(new Operation[0]);
+        double[] cumulativeWeights = new double[operations.length];
+        double total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new BenchmarkException(String.format("Workload mix without operations: %s", declaration));
+        }
+
+        return new WorkloadMix(operations, cumulativeWeights);
+    }
+
+    public Operation next(SplittableRandom random) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        double total = cumulativeWeights[cumulativeWeights.length - 1];
+        double previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(String.format("%s %.1f%%", operations[i].getKey(), (cumulativeWeights[i] - previous) * 100 / total));
+            previous = cumulativeWeights[i];
+        }
+
+        return builder.toString();
+    }
+}
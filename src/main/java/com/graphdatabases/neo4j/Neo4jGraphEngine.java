@@ -0,0 +1,649 @@
+package com.graphdatabases.neo4j;
+
+import com.graphdatabases.benchmark.Direction;
+import com.graphdatabases.benchmark.EdgeModel;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.NodeIndex;
+import com.graphdatabases.benchmark.PreparedQuery;
+import com.graphdatabases.benchmark.WriteMode;
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.dataset.EgoNetworkProfiles;
+import com.graphdatabases.benchmark.plan.QueryPlans;
+import com.graphdatabases.benchmark.timing.ServerTimings;
+import org.neo4j.driver.v1.*;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.exceptions.ClientException;
+import org.neo4j.driver.v1.exceptions.TransientException;
+import org.neo4j.driver.v1.summary.Plan;
+import org.neo4j.driver.v1.summary.ResultSummary;
+
+import java.io.FileInputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.driver.v1.Values.parameters;
+
+public class Neo4jGraphEngine implements GraphEngine {
+
+    private static final int PROFILE_BATCH_SIZE = 1000;
+
+    private Driver driver;
+    // auto-commit statements, with the transaction log flushed as the server is configured
+    private volatile WriteMode writeMode = new WriteMode(WriteMode.Sync.SERVER, false, false);
+    private volatile String bookmark;
+    private NodeIndex nodeIndex = new NodeIndex(NodeIndex.Structure.DEFAULT, false, NodeIndex.KeyType.INTEGER);
+    private volatile EdgeModel edgeModel = EdgeModel.DUPLICATED;
+    private final AtomicLong openSessions = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "neo4j";
+    }
+
+    @Override
+    public void open() {
+        Properties properties = new Properties();
+        try {
+            String path = Neo4jGraphEngine.class.getResource("driver-settings.properties").getPath();
+            FileInputStream in = new FileInputStream(path);
+            properties.load(in);
+            in.close();
+        } catch (Exception e) {
+            System.out.println("Failed to load driver settings.");
+        }
+
+        String uri = properties.getProperty("uri");
+        String username = properties.getProperty("username");
+        String password = properties.getProperty("password");
+
+        driver = GraphDatabase.driver(uri, AuthTokens.basic(username, password));
+    }
+
+    @Override
+    public void clean() {
+        Session session = openSession();
+        try {
+            session.run("MATCH (n) DETACH DELETE n");
+        } finally {
+            release(session);
+        }
+
+        // schema indexes survive the delete, so they are dropped to start every run with the configured ones only
+        drop("DROP INDEX ON :Circle(circleId)", "No index on circleId to drop.");
+        drop("DROP INDEX ON :Person(nodeId)", "No index on nodeId to drop.");
+        drop("DROP CONSTRAINT ON (p:Person) ASSERT p.nodeId IS UNIQUE", "No constraint on nodeId to drop.");
+    }
+
+    private void drop(String statement, String missing) {
+        Session session = openSession();
+        try {
+            session.run(statement).consume();
+        } catch (ClientException e) {
+            System.out.println(missing);
+        } finally {
+            release(session);
+        }
+    }
+
+    @Override
+    public void createSchema() {
+        if (nodeIndex.getStructure() == NodeIndex.Structure.NONE) {
+            return;
+        }
+
+        Session session = openSession();
+        try {
+            session.run(nodeIndex.isUnique() ? "CREATE CONSTRAINT ON (p:Person) ASSERT p.nodeId IS UNIQUE" : "CREATE INDEX ON :Person(nodeId)").consume();
+            session.run("CALL db.awaitIndexes()").consume();
+        } finally {
+            release(session);
+        }
+    }
+
+    @Override
+    public NodeIndex setNodeIndex(NodeIndex index) {
+        // the server decides between its native and its Lucene index by configuration and value type
+        nodeIndex = index.getStructure() == NodeIndex.Structure.NONE ? index : index.withStructure(NodeIndex.Structure.DEFAULT);
+        if (nodeIndex.getKeyType() == NodeIndex.KeyType.DEFAULT) {
+            nodeIndex = nodeIndex.withKeyType(NodeIndex.KeyType.INTEGER);
+        }
+
+        return nodeIndex;
+    }
+
+    @Override
+    public EdgeModel setEdgeModel(EdgeModel model) {
+        // every relationship is a record, so a lightweight edge is a single one
+        edgeModel = model == EdgeModel.LIGHTWEIGHT ? EdgeModel.SINGLE : model;
+
+        return edgeModel;
+    }
+
+    /**
+     * Ends a FRIEND pattern outgoing when each friendship is stored both ways, undirected when it is stored once.
+     */
+    private String friendArrow() {
+        return edgeModel.isDuplicated() ? "->" : "-";
+    }
+
+    /**
+     * Creates the FRIEND relationship from {@code p1} to {@code p2}, and its reverse when friendships are stored both ways.
+     */
+    private String createFriendship() {
+        return edgeModel.isDuplicated() ? "CREATE (p1)-[r1:FRIEND]->(p2) CREATE (p2)-[r2:FRIEND]->(p1) RETURN r1, r2" : "CREATE (p1)-[r1:FRIEND]->(p2) RETURN r1";
+    }
+
+    private Object nodeKey(int nodeId) {
+        return nodeIndex.getKeyType() == NodeIndex.KeyType.STRING ? String.valueOf(nodeId) : nodeId;
+    }
+
+    @Override
+    public void load(EdgeSource source) {
+        source.forEach((nodeOneId, nodeTwoId) -> {
+            if (!findNode(nodeOneId)) {
+                createNode(nodeOneId);
+            }
+
+            if (!findNode(nodeTwoId)) {
+                createNode(nodeTwoId);
+            }
+
+            createRelationship(nodeOneId, nodeTwoId);
+        });
+    }
+
+    @Override
+    public void createNodes(int[] nodeIds, int length) {
+        List<Object> keys = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            keys.add(nodeKey(nodeIds[i]));
+        }
+
+        execute("UNWIND $nodeIds AS nodeId CREATE (:Person { nodeId: nodeId })", parameters("nodeIds", keys), new ArrayList<>());
+    }
+
+    @Override
+    public void createRelationships(int[] sourceNodeIds, int[] targetNodeIds, int length) {
+        List<Map<String, Object>> rows = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("s", sourceNodeIds[i]);
+            row.put("t", targetNodeIds[i]);
+            rows.add(row);
+        }
+
+        String statement = "UNWIND $rows AS row MATCH (p1:Person { nodeId: row.s }), (p2:Person { nodeId: row.t }) " + createFriendship();
+        execute(statement, parameters("rows", rows), new ArrayList<>());
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        // deadlocks between concurrent writers locking the same nodes are reported as transient errors
+        return e instanceof TransientException;
+    }
+
+    @Override
+    public WriteMode setWriteMode(WriteMode mode) {
+        // the transaction log is flushed on commit or not as dbms.tx_log settings of the server say
+        writeMode = mode.withSync(WriteMode.Sync.SERVER);
+        bookmark = null;
+
+        return writeMode;
+    }
+
+    @Override
+    public void loadProfiles(EgoNetworkProfiles profiles) {
+        Session session = openSession();
+        try {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Map.Entry<Integer, int[]> entry : profiles.getFeatures().entrySet()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("nodeId", entry.getKey());
+                row.put("features", entry.getValue());
+                rows.add(row);
+
+                if (rows.size() == PROFILE_BATCH_SIZE) {
+                    session.run("UNWIND $rows AS row MATCH (p:Person { nodeId: row.nodeId }) SET p.features = row.features", parameters("rows", rows)).consume();
+                    rows.clear();
+                }
+            }
+            if (!rows.isEmpty()) {
+                session.run("UNWIND $rows AS row MATCH (p:Person { nodeId: row.nodeId }) SET p.features = row.features", parameters("rows", rows)).consume();
+            }
+
+            for (Map.Entry<String, int[]> entry : profiles.getCircles().entrySet()) {
+                String statement = "CREATE (c:Circle { circleId: $circleId }) WITH c UNWIND $members AS memberId MATCH (p:Person { nodeId: memberId }) CREATE (p)-[:MEMBER]->(c)";
+                session.run(statement, parameters("circleId", entry.getKey(), "members", entry.getValue())).consume();
+            }
+        } finally {
+            release(session);
+        }
+    }
+
+    @Override
+    public void createPropertyIndexes() {
+        // Neo4j 3.3 indexes whole property values only, so the features list cannot be indexed by element
+        Session session = openSession();
+        try {
+            session.run("CREATE INDEX ON :Circle(circleId)").consume();
+            session.run("CALL db.awaitIndexes()").consume();
+        } finally {
+            release(session);
+        }
+    }
+
+    @Override
+    public boolean findNode(int nodeId) {
+        return !query("MATCH (p:Person { nodeId: $nodeId }) RETURN p", parameters("nodeId", nodeKey(nodeId))).isEmpty();
+    }
+
+    @Override
+    public int countNodesInRange(int fromNodeId, int toNodeId) {
+        String statement = "MATCH (p:Person) WHERE p.nodeId >= $fromNodeId AND p.nodeId < $toNodeId RETURN count(p) AS count";
+        return query(statement, parameters("fromNodeId", nodeKey(fromNodeId), "toNodeId", nodeKey(toNodeId))).get(0).get("count").asInt();
+    }
+
+    @Override
+    public int findNodeWithLeastEdges(Direction direction) {
+        return findNodeByDegree(direction, "ASC");
+    }
+
+    @Override
+    public int findNodeWithMostEdges(Direction direction) {
+        return findNodeByDegree(direction, "DESC");
+    }
+
+    private int findNodeByDegree(Direction direction, String order) {
+        String statement = String.format("MATCH %s RETURN p.nodeId AS nodeId, count(r) AS count ORDER BY count %s LIMIT 1", degreePattern(direction), order);
+        List<Record> records = query(statement, parameters());
+
+        return records.isEmpty() ? -1 : records.get(0).get("nodeId").asInt();
+    }
+
+    private String degreePattern(Direction direction) {
+        switch (direction) {
+            case IN:
+                return "(:Person)-[r:FRIEND]->(p:Person)";
+            case OUT:
+                return "(p:Person)-[r:FRIEND]->(:Person)";
+            default:
+                return "(p:Person)-[r:FRIEND]-(:Person)";
+        }
+    }
+
+    @Override
+    public int findNeighbors(int nodeId, int depth) {
+        String statement = String.format("MATCH (p:Person)-[:FRIEND*%d]%s(friend:Person) WHERE p.nodeId = $nodeId RETURN friend", depth, friendArrow());
+        return count(statement, parameters("nodeId", nodeId));
+    }
+
+    @Override
+    public boolean createNode(int nodeId) {
+        return !query("CREATE (p:Person { nodeId: $nodeId }) RETURN p", parameters("nodeId", nodeId)).isEmpty();
+    }
+
+    @Override
+    public boolean createRelationship(int firstNodeId, int secondNodeId) {
+        String statement = "MATCH (p1:Person), (p2:Person) WHERE p1.nodeId = $firstNodeId AND p2.nodeId = $secondNodeId " + createFriendship();
+        return !query(statement, parameters("firstNodeId", firstNodeId, "secondNodeId", secondNodeId)).isEmpty();
+    }
+
+    @Override
+    public boolean updateNode(int nodeId, String firstName, String lastName) {
+        String statement = "MATCH (p:Person { nodeId: $nodeId }) SET p.firstName = $firstName, p.lastName = $lastName RETURN p";
+        return !query(statement, parameters("nodeId", nodeId, "firstName", firstName, "lastName", lastName)).isEmpty();
+    }
+
+    @Override
+    public boolean deleteNode(int nodeId) {
+        String statement = "MATCH (p:Person { nodeId: $nodeId }) DETACH DELETE p";
+        return execute(statement, parameters("nodeId", nodeId), new ArrayList<>()).counters().nodesDeleted() > 0;
+    }
+
+    @Override
+    public boolean deleteRelationship(int firstNodeId, int secondNodeId) {
+        String statement = "MATCH (p1:Person { nodeId: $firstNodeId })-[r:FRIEND]-(p2:Person { nodeId: $secondNodeId }) DELETE r";
+        return execute(statement, parameters("firstNodeId", firstNodeId, "secondNodeId", secondNodeId), new ArrayList<>()).counters().relationshipsDeleted() > 0;
+    }
+
+    @Override
+    public long[] resolveNativeIds(int[] nodeIds) {
+        long[] nativeIds = new long[nodeIds.length];
+        Arrays.fill(nativeIds, -1);
+
+        Map<Integer, Long> resolved = new HashMap<>();
+        Session session = openSession();
+        try {
+            StatementResult result = session.run("UNWIND $nodeIds AS nodeId MATCH (p:Person { nodeId: nodeId }) RETURN nodeId, id(p) AS id", parameters("nodeIds", nodeIds));
+            while (result.hasNext()) {
+                Record record = result.next();
+                resolved.put(record.get("nodeId").asInt(), record.get("id").asLong());
+            }
+        } finally {
+            release(session);
+        }
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            nativeIds[i] = resolved.getOrDefault(nodeIds[i], -1L);
+        }
+
+        return nativeIds;
+    }
+
+    @Override
+    public boolean findNodeByNativeId(long nativeId) {
+        return !query("MATCH (p:Person) WHERE id(p) = $id RETURN p", parameters("id", nativeId)).isEmpty();
+    }
+
+    @Override
+    public int findNeighborsByNativeId(long nativeId, int depth) {
+        String statement = String.format("MATCH (p:Person)-[:FRIEND*%d]%s(friend:Person) WHERE id(p) = $id RETURN friend", depth, friendArrow());
+        return count(statement, parameters("id", nativeId));
+    }
+
+    @Override
+    public boolean createRelationshipByNativeIds(long firstNativeId, long secondNativeId) {
+        String statement = "MATCH (p1:Person), (p2:Person) WHERE id(p1) = $firstId AND id(p2) = $secondId " + createFriendship();
+        return !query(statement, parameters("firstId", firstNativeId, "secondId", secondNativeId)).isEmpty();
+    }
+
+    @Override
+    public boolean updateNodeByNativeId(long nativeId, String firstName, String lastName) {
+        String statement = "MATCH (p:Person) WHERE id(p) = $id SET p.firstName = $firstName, p.lastName = $lastName RETURN p";
+        return !query(statement, parameters("id", nativeId, "firstName", firstName, "lastName", lastName)).isEmpty();
+    }
+
+    @Override
+    public long getStoreSize() {
+        return storeFileSize("TotalStoreSize");
+    }
+
+    @Override
+    public long getIndexSize() {
+        return storeFileSize("IndexStoreSize");
+    }
+
+    private long storeFileSize(String attribute) {
+        long size;
+
+        Session session = openSession();
+        try {
+            String statement = String.format("CALL dbms.queryJmx('org.neo4j:instance=kernel#0,name=Store file sizes') YIELD attributes RETURN attributes.%s.value AS size", attribute);
+            StatementResult result = session.run(statement);
+            size = result.hasNext() && !result.peek().get("size").isNull() ? result.next().get("size").asLong() : -1;
+        } finally {
+            release(session);
+        }
+
+        return size;
+    }
+
+    @Override
+    public long countNodes() {
+        return query("MATCH (p:Person) RETURN count(p) AS count", parameters()).get(0).get("count").asLong();
+    }
+
+    @Override
+    public long countRelationships() {
+        return query("MATCH ()-[r:FRIEND]->() RETURN count(r) AS count", parameters()).get(0).get("count").asLong();
+    }
+
+    @Override
+    public void dropCaches() {
+        // the page cache cannot be evicted over Bolt, only compiled plans and the connection pool are dropped
+        Session session = openSession();
+        try {
+            session.run("CALL db.clearQueryCaches()").consume();
+        } catch (ClientException e) {
+            System.out.println("Query caches cannot be cleared on this server.");
+        } finally {
+            release(session);
+        }
+
+        close();
+        open();
+    }
+
+    @Override
+    public void warmUp() {
+        Session session = openSession();
+        try {
+            session.run("MATCH (p:Person) OPTIONAL MATCH (p)-[r:FRIEND]->() RETURN count(p), count(r)").consume();
+            session.run("MATCH (p:Person) WHERE p.nodeId >= 0 RETURN count(p)").consume();
+        } finally {
+            release(session);
+        }
+    }
+
+    @Override
+    public int findShortestPathLength(int sourceNodeId, int targetNodeId) {
+        String statement = String.format("MATCH (s:Person { nodeId: $sourceNodeId }), (t:Person { nodeId: $targetNodeId }) MATCH p = shortestPath((s)-[:FRIEND*]%s(t)) RETURN length(p) AS length", friendArrow());
+        List<Record> records = query(statement, parameters("sourceNodeId", sourceNodeId, "targetNodeId", targetNodeId));
+
+        return records.isEmpty() ? -1 : records.get(0).get("length").asInt();
+    }
+
+    @Override
+    public int countReachableNodes(int nodeId, int depth) {
+        String statement = String.format("MATCH (p:Person { nodeId: $nodeId })-[:FRIEND*1..%d]%s(friend:Person) WITH DISTINCT p, friend WHERE friend <> p RETURN count(friend) AS count", depth, friendArrow());
+        return query(statement, parameters("nodeId", nodeId)).get(0).get("count").asInt();
+    }
+
+    @Override
+    public long countTriangles() {
+        String arrow = friendArrow();
+        String statement = String.format("MATCH (a:Person)-[:FRIEND]%s(b:Person)-[:FRIEND]%s(c:Person)-[:FRIEND]%s(a) WHERE a.nodeId < b.nodeId AND b.nodeId < c.nodeId RETURN count(*) AS count", arrow, arrow, arrow);
+        return query(statement, parameters()).get(0).get("count").asLong();
+    }
+
+    @Override
+    public int countConnectedComponents() {
+        int count;
+
+        // label propagation: every node repeatedly takes the smallest component id among its neighbours
+        Session session = openSession();
+        try {
+            session.run("MATCH (p:Person) SET p.component = p.nodeId").consume();
+            int changed;
+            do {
+                String statement = String.format("MATCH (p:Person)-[:FRIEND]%s(f:Person) WITH f, min(p.component) AS component WHERE component < f.component SET f.component = component RETURN count(f) AS changed", friendArrow());
+                changed = session.run(statement).single().get("changed").asInt();
+            } while (changed > 0);
+            count = session.run("MATCH (p:Person) RETURN count(DISTINCT p.component) AS count").single().get("count").asInt();
+            session.run("MATCH (p:Person) REMOVE p.component").consume();
+        } finally {
+            release(session);
+        }
+
+        return count;
+    }
+
+    @Override
+    public Map<Integer, Double> computePageRank(int iterations, double dampingFactor) {
+        Map<Integer, Double> ranks = new HashMap<>();
+
+        Session session = openSession();
+        try {
+            int nodeCount = session.run("MATCH (p:Person) RETURN count(p) AS count").single().get("count").asInt();
+            session.run("MATCH (p:Person) SET p.rank = 1.0 / $nodeCount", parameters("nodeCount", nodeCount)).consume();
+            for (int i = 0; i < iterations; i++) {
+                String statement = String.format("MATCH (p:Person) OPTIONAL MATCH (q:Person)-[:FRIEND]%1$s(p) WITH p, sum(q.rank / size((q)-[:FRIEND]%1$s())) AS incoming SET p.nextRank = $base + $dampingFactor * incoming", friendArrow());
+                session.run(statement, parameters("base", (1 - dampingFactor) / nodeCount, "dampingFactor", dampingFactor)).consume();
+                session.run("MATCH (p:Person) SET p.rank = p.nextRank").consume();
+            }
+
+            StatementResult result = session.run("MATCH (p:Person) RETURN p.nodeId AS nodeId, p.rank AS rank");
+            while (result.hasNext()) {
+                Record record = result.next();
+                ranks.put(record.get("nodeId").asInt(), record.get("rank").asDouble());
+            }
+            session.run("MATCH (p:Person) REMOVE p.rank, p.nextRank").consume();
+        } finally {
+            release(session);
+        }
+
+        return ranks;
+    }
+
+    @Override
+    public int findFriendsInCircleWithFeature(int nodeId, String circleId, int featureId) {
+        String statement = String.format("MATCH (p:Person { nodeId: $nodeId })-[:FRIEND]%s(friend:Person)-[:MEMBER]->(c:Circle { circleId: $circleId }) WHERE $featureId IN friend.features RETURN friend", friendArrow());
+        return count(statement, parameters("nodeId", nodeId, "circleId", circleId, "featureId", featureId));
+    }
+
+    @Override
+    public int countCircleMembersWithFeature(String circleId, int featureId) {
+        String statement = "MATCH (p:Person)-[:MEMBER]->(c:Circle { circleId: $circleId }) WHERE $featureId IN p.features RETURN p";
+        return count(statement, parameters("circleId", circleId, "featureId", featureId));
+    }
+
+    @Override
+    public int countNodesWithFeature(int featureId) {
+        String statement = "MATCH (p:Person) WHERE $featureId IN p.features RETURN p";
+        return count(statement, parameters("featureId", featureId));
+    }
+
+    @Override
+    public PreparedQuery prepare(String query, List<String> parameterNames) {
+        String[] names = parameterNames.toArray(new String[0]);
+
+        // the names are laid out once, parameters() copies the pairs, so each thread reuses one array
+        ThreadLocal<Object[]> keysAndValuesArrays = ThreadLocal.withInitial(() -> {
+            Object[] keysAndValues = new Object[names.length * 2];
+            for (int i = 0; i < names.length; i++) {
+                keysAndValues[i * 2] = names[i];
+            }
+
+            return keysAndValues;
+        });
+
+        return values -> {
+            Object[] keysAndValues = keysAndValuesArrays.get();
+            for (int i = 0; i < names.length; i++) {
+                keysAndValues[i * 2 + 1] = values[i];
+            }
+
+            return query(query, parameters(keysAndValues)).size();
+        };
+    }
+
+    private int count(String statement, Value parameters) {
+        return query(statement, parameters).size();
+    }
+
+    private List<Record> query(String statement, Value parameters) {
+        List<Record> records = new ArrayList<>();
+        execute(statement, parameters, records);
+
+        return records;
+    }
+
+    /**
+     * Runs a statement in its own session, as an auto-commit statement or in an explicit transaction as the write
+     * mode says, and reports the time the server needed to make the first record available and to stream all of
+     * them. The commit is part of the measured time.
+     */
+    private ResultSummary execute(String statement, Value parameters, List<Record> records) {
+        Session session = session();
+        try {
+            explain(session, statement, parameters);
+
+            long start = System.nanoTime();
+            Transaction transaction = writeMode.isTransactional() ? session.beginTransaction() : null;
+            StatementResult result = (transaction != null ? transaction : session).run(statement, parameters);
+            records.addAll(result.list());
+            ResultSummary summary = result.consume();
+            if (transaction != null) {
+                transaction.success();
+                transaction.close();
+            }
+            long driverNanos = System.nanoTime() - start;
+
+            ServerTimings.recordRequest(driverNanos, summary.resultAvailableAfter(TimeUnit.NANOSECONDS) + summary.resultConsumedAfter(TimeUnit.NANOSECONDS));
+
+            return summary;
+        } finally {
+            close(session);
+        }
+    }
+
+    /**
+     * Opens a session that waits for the last write seen by this engine when bookmarks are chained, so every read
+     * sees the writes before it even on a causal cluster.
+     */
+    private Session session() {
+        String lastBookmark = bookmark;
+        return openSession(writeMode.isBookmarks() ? lastBookmark : null);
+    }
+
+    private void close(Session session) {
+        if (writeMode.isBookmarks() && session.lastBookmark() != null) {
+            bookmark = session.lastBookmark();
+        }
+        release(session);
+    }
+
+    private Session openSession() {
+        return openSession(null);
+    }
+
+    /**
+     * Opens a session that is counted as open until it is released, so a code path that never closes its sessions
+     * shows up as growth in {@link #getOpenResources()}.
+     */
+    private Session openSession(String bookmark) {
+        Session session = bookmark != null ? driver.session(bookmark) : driver.session();
+        openSessions.incrementAndGet();
+
+        return session;
+    }
+
+    private void release(Session session) {
+        try {
+            session.close();
+        } finally {
+            openSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Records the plan of the statement while plans are captured. EXPLAIN plans without executing, so it is safe for
+     * writes as well.
+     */
+    private void explain(Session session, String statement, Value parameters) {
+        if (!QueryPlans.isCapturing()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Plan plan = session.run("EXPLAIN " + statement, parameters).consume().plan();
+        QueryPlans.recordOverhead(System.nanoTime() - start);
+
+        List<String> lines = new ArrayList<>();
+        boolean indexed = render(plan, "", lines);
+        QueryPlans.record(statement, String.join(System.lineSeparator(), lines), indexed);
+    }
+
+    private boolean render(Plan plan, String indent, List<String> lines) {
+        lines.add(String.format("%s%s %s", indent, plan.operatorType(), plan.identifiers()));
+
+        boolean indexed = plan.operatorType().contains("Index");
+        for (Plan child : plan.children()) {
+            indexed |= render(child, indent + "  ", lines);
+        }
+
+        return indexed;
+    }
+
+    @Override
+    public Map<String, Long> getOpenResources() {
+        // the driver keeps its connection pool internal, the sessions borrowing from it are counted here
+        return Collections.singletonMap("sessions", openSessions.get());
+    }
+
+    @Override
+    public void close() {
+        driver.close();
+    }
+}
@@ -0,0 +1,966 @@
+package com.graphdatabases.orientdb;
+
+import com.graphdatabases.benchmark.Direction;
+import com.graphdatabases.benchmark.EdgeModel;
+import com.graphdatabases.benchmark.GraphEngine;
+import com.graphdatabases.benchmark.NodeIndex;
+import com.graphdatabases.benchmark.PreparedQuery;
+import com.graphdatabases.benchmark.WriteMode;
+import com.graphdatabases.benchmark.analytics.ReferenceGraph;
+import com.graphdatabases.benchmark.dataset.EdgeSource;
+import com.graphdatabases.benchmark.dataset.EgoNetworkProfiles;
+import com.graphdatabases.benchmark.plan.QueryPlans;
+import com.graphdatabases.benchmark.timing.ServerTimings;
+import com.orientechnologies.common.concur.ONeedRetryException;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.index.OIndexManager;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.OLocalPaginatedStorage;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.orient.OrientBaseGraph;
+import com.tinkerpop.blueprints.impls.orient.OrientGraph;
+import com.tinkerpop.blueprints.impls.orient.OrientGraphFactory;
+import com.tinkerpop.blueprints.impls.orient.OrientGraphNoTx;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.*;
+
+public class OrientDBGraphEngine implements GraphEngine {
+
+    private static final String[] INDEX_FILE_EXTENSIONS = {".sbt", ".nbt", ".hit", ".hib", ".him", ".hnb"};
+    private static final int CLUSTER_POSITION_BITS = 48;
+
+    private OrientGraphFactory factory;
+    private volatile WriteMode writeMode = new WriteMode(WriteMode.Sync.SERVER, true, false);
+    private NodeIndex nodeIndex = new NodeIndex(NodeIndex.Structure.SORTED, false, NodeIndex.KeyType.INTEGER);
+    private volatile EdgeModel edgeModel = EdgeModel.DUPLICATED;
+
+    @Override
+    public String getName() {
+        return "orientdb";
+    }
+
+    @Override
+    public void open() {
+        Properties properties = new Properties();
+        try {
+            String path = OrientDBGraphEngine.class.getResource("driver-settings.properties").getPath();
+            FileInputStream in = new FileInputStream(path);
+            properties.load(in);
+            in.close();
+        } catch (Exception e) {
+            System.out.println("Failed to load driver settings.");
+        }
+
+        String uri = properties.getProperty("uri");
+        String username = properties.getProperty("username");
+        String password = properties.getProperty("password");
+
+        factory = new OrientGraphFactory(uri, username, password).setupPool(1, 10);
+    }
+
+    @Override
+    public void clean() {
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            graphNoTx.getRawGraph().command(new OCommandSQL("DROP CLASS Member IF EXISTS UNSAFE")).execute();
+            graphNoTx.getRawGraph().command(new OCommandSQL("DROP CLASS Friend IF EXISTS UNSAFE")).execute();
+            graphNoTx.getRawGraph().command(new OCommandSQL("DROP CLASS Circle IF EXISTS UNSAFE")).execute();
+            graphNoTx.getRawGraph().command(new OCommandSQL("DROP CLASS Person IF EXISTS UNSAFE")).execute();
+        } finally {
+            graphNoTx.shutdown();
+        }
+    }
+
+    @Override
+    public void createSchema() {
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            graphNoTx.getRawGraph().command(new OCommandSQL("CREATE CLASS Person IF NOT EXISTS EXTENDS V")).execute();
+            String keyType = nodeIndex.getKeyType() == NodeIndex.KeyType.STRING ? "STRING" : "INTEGER";
+            graphNoTx.getRawGraph().command(new OCommandSQL(String.format("CREATE PROPERTY Person.nodeId IF NOT EXISTS %s", keyType))).execute();
+            if (nodeIndex.getStructure() != NodeIndex.Structure.NONE) {
+                // plain UNIQUE and NOTUNIQUE indexes are SB-trees
+                String indexType = (nodeIndex.isUnique() ? "UNIQUE" : "NOTUNIQUE") + (nodeIndex.getStructure() == NodeIndex.Structure.HASH ? "_HASH_INDEX" : "");
+                graphNoTx.getRawGraph().command(new OCommandSQL(String.format("CREATE INDEX Person.nodeId ON Person (nodeId) %s", indexType))).execute();
+            }
+
+            graphNoTx.getRawGraph().command(new OCommandSQL("CREATE PROPERTY Person.features IF NOT EXISTS EMBEDDEDLIST INTEGER")).execute();
+
+            graphNoTx.getRawGraph().command(new OCommandSQL("CREATE CLASS Friend IF NOT EXISTS EXTENDS E")).execute();
+            // lightweight edges are kept as links in the two vertices only, the setting is stored with the database
+            graphNoTx.setUseLightweightEdges(edgeModel == EdgeModel.LIGHTWEIGHT);
+            factory.setUseLightweightEdges(edgeModel == EdgeModel.LIGHTWEIGHT);
+
+            graphNoTx.getRawGraph().command(new OCommandSQL("CREATE CLASS Circle IF NOT EXISTS EXTENDS V")).execute();
+            graphNoTx.getRawGraph().command(new OCommandSQL("CREATE PROPERTY Circle.circleId IF NOT EXISTS STRING")).execute();
+            graphNoTx.getRawGraph().command(new OCommandSQL("CREATE CLASS Member IF NOT EXISTS EXTENDS E")).execute();
+        } finally {
+            graphNoTx.shutdown();
+        }
+    }
+
+    @Override
+    public NodeIndex setNodeIndex(NodeIndex index) {
+        nodeIndex = index.getStructure() == NodeIndex.Structure.DEFAULT ? index.withStructure(NodeIndex.Structure.SORTED) : index;
+        if (nodeIndex.getKeyType() == NodeIndex.KeyType.DEFAULT) {
+            nodeIndex = nodeIndex.withKeyType(NodeIndex.KeyType.INTEGER);
+        }
+
+        return nodeIndex;
+    }
+
+    @Override
+    public EdgeModel setEdgeModel(EdgeModel model) {
+        edgeModel = model;
+
+        return edgeModel;
+    }
+
+    /**
+     * Follows the Friend edges outgoing when each friendship is stored both ways, in both directions when it is stored once.
+     */
+    private String friendDirection() {
+        return edgeModel.isDuplicated() ? "out" : "both";
+    }
+
+    private Object nodeKey(int nodeId) {
+        return nodeIndex.getKeyType() == NodeIndex.KeyType.STRING ? String.valueOf(nodeId) : nodeId;
+    }
+
+    @Override
+    public void load(EdgeSource source) {
+        source.forEach((nodeOneId, nodeTwoId) -> {
+            Vertex personOne = findPersonByNodeId(nodeOneId);
+            if (personOne == null) {
+                personOne = createPerson(nodeOneId);
+            }
+
+            Vertex personTwo = findPersonByNodeId(nodeTwoId);
+            if (personTwo == null) {
+                personTwo = createPerson(nodeTwoId);
+            }
+
+            createRelationship(personOne, personTwo);
+        });
+    }
+
+    @Override
+    public void createNodes(int[] nodeIds, int length) {
+        OrientBaseGraph graph = writeGraph();
+        try {
+            for (int i = 0; i < length; i++) {
+                graph.addVertex("class:Person").setProperty("nodeId", nodeKey(nodeIds[i]));
+            }
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+    }
+
+    @Override
+    public void createRelationships(int[] sourceNodeIds, int[] targetNodeIds, int length) {
+        OrientBaseGraph graph = writeGraph();
+        try {
+            for (int i = 0; i < length; i++) {
+                Iterator<Vertex> sources = graph.getVertices("Person.nodeId", sourceNodeIds[i]).iterator();
+                Iterator<Vertex> targets = graph.getVertices("Person.nodeId", targetNodeIds[i]).iterator();
+                if (sources.hasNext() && targets.hasNext()) {
+                    Vertex source = sources.next();
+                    Vertex target = targets.next();
+                    graph.addEdge("class:Friend", source, target, null);
+                    if (edgeModel.isDuplicated()) {
+                        graph.addEdge("class:Friend", target, source, null);
+                    }
+                }
+            }
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        // concurrent edge inserts on the same vertex bump its version and fail the commit of the other writer; without
+        // a transaction the edges written before the conflict stay, so repeating the batch would duplicate them
+        return writeMode.isTransactional() && e instanceof ONeedRetryException;
+    }
+
+    @Override
+    public WriteMode setWriteMode(WriteMode mode) {
+        // OrientDB 2.2 has no per-commit sync: the write-ahead log is forced to disk by a periodic background flush and
+        // by checkpoints, and tx.commit.synch is no longer read, so durability is left to the storage configuration
+        writeMode = mode.withSync(WriteMode.Sync.SERVER).withBookmarks(false);
+        return writeMode;
+    }
+
+    /**
+     * Opens a graph for writes, transactional or not as the write mode says. A graph without a transaction writes
+     * every record as it is changed, and commit and rollback do nothing.
+     */
+    private OrientBaseGraph writeGraph() {
+        return writeMode.isTransactional() ? factory.getTx() : factory.getNoTx();
+    }
+
+    private Vertex findPersonByNodeId(int nodeId) {
+        Vertex person = null;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            long start = System.nanoTime();
+            Iterator<Vertex> iterator = graph.getVertices("Person.nodeId", nodeKey(nodeId)).iterator();
+            if (iterator.hasNext()) {
+                person = iterator.next();
+            }
+            ServerTimings.recordRequest(System.nanoTime() - start, -1);
+
+            if (QueryPlans.isCapturing()) {
+                // the lookup falls back to scanning the class when the index is missing
+                long planStart = System.nanoTime();
+                OClass personClass = graph.getRawGraph().getMetadata().getSchema().getClass("Person");
+                boolean indexed = personClass != null && !personClass.getInvolvedIndexes("nodeId").isEmpty();
+                QueryPlans.record("getVertices(Person.nodeId)", indexed ? "index Person.nodeId" : "class scan Person", indexed);
+                QueryPlans.recordOverhead(System.nanoTime() - planStart);
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return person;
+    }
+
+    private Vertex createPerson(int nodeId) {
+        Vertex person;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            person = graph.addVertex("class:Person");
+            person.setProperty("nodeId", nodeId);
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return person;
+    }
+
+    private void createRelationship(Vertex vertexOne, Vertex vertexTwo) {
+        OrientBaseGraph graph = writeGraph();
+        try {
+            graph.addEdge("class:Friend", vertexOne, vertexTwo, null);
+            if (edgeModel.isDuplicated()) {
+                graph.addEdge("class:Friend", vertexTwo, vertexOne, null);
+            }
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+    }
+
+    @Override
+    public void loadProfiles(EgoNetworkProfiles profiles) {
+        for (Map.Entry<Integer, int[]> entry : profiles.getFeatures().entrySet()) {
+            List<Integer> features = new ArrayList<>();
+            for (int feature : entry.getValue()) {
+                features.add(feature);
+            }
+
+            OrientGraph graph = factory.getTx();
+            try {
+                graph.command(new OCommandSQL("UPDATE Person SET features = ? WHERE nodeId = ?")).execute(features, entry.getKey());
+                graph.commit();
+            } finally {
+                graph.shutdown();
+            }
+        }
+
+        for (Map.Entry<String, int[]> entry : profiles.getCircles().entrySet()) {
+            OrientGraph graph = factory.getTx();
+            try {
+                Vertex circle = graph.addVertex("class:Circle");
+                circle.setProperty("circleId", entry.getKey());
+                for (int memberId : entry.getValue()) {
+                    Iterator<Vertex> iterator = graph.getVertices("Person.nodeId", memberId).iterator();
+                    if (iterator.hasNext()) {
+                        graph.addEdge("class:Member", iterator.next(), circle, null);
+                    }
+                }
+
+                graph.commit();
+            } finally {
+                graph.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public void createPropertyIndexes() {
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            OIndexManager indexes = graphNoTx.getRawGraph().getMetadata().getIndexManager();
+            if (!indexes.existsIndex("Person.features")) {
+                graphNoTx.getRawGraph().command(new OCommandSQL("CREATE INDEX Person.features ON Person (features) NOTUNIQUE")).execute();
+            }
+            if (!indexes.existsIndex("Circle.circleId")) {
+                graphNoTx.getRawGraph().command(new OCommandSQL("CREATE INDEX Circle.circleId ON Circle (circleId) NOTUNIQUE")).execute();
+            }
+        } finally {
+            graphNoTx.shutdown();
+        }
+    }
+
+    @Override
+    public boolean findNode(int nodeId) {
+        return findPersonByNodeId(nodeId) != null;
+    }
+
+    @Override
+    public int countNodesInRange(int fromNodeId, int toNodeId) {
+        int count;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            List<Vertex> results = query(graph, "SELECT count(*) AS count FROM Person WHERE nodeId >= ? AND nodeId < ?", nodeKey(fromNodeId), nodeKey(toNodeId));
+            count = results.get(0).<Number>getProperty("count").intValue();
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public int findNodeWithLeastEdges(Direction direction) {
+        return findNodeByDegree(direction, "ASC");
+    }
+
+    @Override
+    public int findNodeWithMostEdges(Direction direction) {
+        return findNodeByDegree(direction, "DESC");
+    }
+
+    private int findNodeByDegree(Direction direction, String order) {
+        int nodeId = -1;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            String query = String.format("SELECT nodeId, %s().size() AS count FROM Person ORDER BY count %s LIMIT 1", direction.name(), order);
+            List<Vertex> results = query(graph, query);
+            if (!results.isEmpty()) {
+                nodeId = results.get(0).<Integer>getProperty("nodeId");
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return nodeId;
+    }
+
+    @Override
+    public int findNeighbors(int nodeId, int depth) {
+        int count = 0;
+
+        StringBuilder traversal = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            traversal.append(i == 0 ? "" : ".").append(friendDirection()).append("(\"Friend\")");
+        }
+
+        OrientGraph graph = factory.getTx();
+        try {
+            String query = String.format("SELECT EXPAND(%s) FROM Person WHERE nodeId = ?", traversal);
+            count = query(graph, query, nodeId).size();
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean createNode(int nodeId) {
+        return createPerson(nodeId) != null;
+    }
+
+    @Override
+    public boolean createRelationship(int firstNodeId, int secondNodeId) {
+        boolean modified;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            Iterable<Edge> resultOne = graph.command(new OCommandSQL(String.format("CREATE EDGE Friend FROM (SELECT FROM Person WHERE nodeId = %d) TO (SELECT FROM Person WHERE nodeId = %d)", firstNodeId, secondNodeId))).execute();
+            modified = resultOne.iterator().hasNext();
+            if (edgeModel.isDuplicated()) {
+                Iterable<Edge> resultTwo = graph.command(new OCommandSQL(String.format("CREATE EDGE Friend FROM (SELECT FROM Person WHERE nodeId = %d) TO (SELECT FROM Person WHERE nodeId = %d)", secondNodeId, firstNodeId))).execute();
+                modified &= resultTwo.iterator().hasNext();
+            }
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return modified;
+    }
+
+    @Override
+    public boolean updateNode(int nodeId, String firstName, String lastName) {
+        int modified;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            modified = graph.command(new OCommandSQL("UPDATE Person SET firstName = ?, lastName = ? WHERE nodeId = ?")).execute(firstName, lastName, nodeId);
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return modified > 0;
+    }
+
+    @Override
+    public boolean deleteNode(int nodeId) {
+        int modified;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            modified = graph.command(new OCommandSQL("DELETE VERTEX Person WHERE nodeId = ?")).execute(nodeId);
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return modified > 0;
+    }
+
+    @Override
+    public boolean deleteRelationship(int firstNodeId, int secondNodeId) {
+        int modified = 0;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            if (edgeModel == EdgeModel.LIGHTWEIGHT) {
+                // a lightweight edge has no record for the class filter to match, so it is removed through its vertices
+                Iterator<Vertex> firsts = graph.getVertices("Person.nodeId", firstNodeId).iterator();
+                Iterator<Vertex> seconds = graph.getVertices("Person.nodeId", secondNodeId).iterator();
+                if (firsts.hasNext() && seconds.hasNext()) {
+                    Vertex second = seconds.next();
+                    for (Edge edge : firsts.next().getEdges(com.tinkerpop.blueprints.Direction.BOTH, "Friend")) {
+                        if (edge.getVertex(com.tinkerpop.blueprints.Direction.IN).equals(second) || edge.getVertex(com.tinkerpop.blueprints.Direction.OUT).equals(second)) {
+                            graph.removeEdge(edge);
+                            modified++;
+                        }
+                    }
+                }
+            } else {
+                String statement = "DELETE EDGE FROM (SELECT FROM Person WHERE nodeId = %d) TO (SELECT FROM Person WHERE nodeId = %d) WHERE @class = 'Friend'";
+                modified += (Integer) graph.command(new OCommandSQL(String.format(statement, firstNodeId, secondNodeId))).execute();
+                modified += (Integer) graph.command(new OCommandSQL(String.format(statement, secondNodeId, firstNodeId))).execute();
+            }
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return modified > 0;
+    }
+
+    @Override
+    public long[] resolveNativeIds(int[] nodeIds) {
+        long[] nativeIds = new long[nodeIds.length];
+
+        OrientGraph graph = factory.getTx();
+        try {
+            for (int i = 0; i < nodeIds.length; i++) {
+                Iterator<Vertex> iterator = graph.getVertices("Person.nodeId", nodeIds[i]).iterator();
+                nativeIds[i] = iterator.hasNext() ? pack((ORID) iterator.next().getId()) : -1;
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return nativeIds;
+    }
+
+    /**
+     * Packs a record id into a long: the cluster id in the upper 16 bits, the position in the cluster below.
+     */
+    private static long pack(ORID rid) {
+        return (long) rid.getClusterId() << CLUSTER_POSITION_BITS | rid.getClusterPosition();
+    }
+
+    private static ORID unpack(long nativeId) {
+        return new ORecordId((int) (nativeId >>> CLUSTER_POSITION_BITS), nativeId & (1L << CLUSTER_POSITION_BITS) - 1);
+    }
+
+    @Override
+    public boolean findNodeByNativeId(long nativeId) {
+        boolean found;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            long start = System.nanoTime();
+            found = graph.getVertex(unpack(nativeId)) != null;
+            ServerTimings.recordRequest(System.nanoTime() - start, -1);
+        } finally {
+            graph.shutdown();
+        }
+
+        return found;
+    }
+
+    @Override
+    public int findNeighborsByNativeId(long nativeId, int depth) {
+        int count;
+
+        StringBuilder traversal = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            traversal.append(i == 0 ? "" : ".").append(friendDirection()).append("(\"Friend\")");
+        }
+
+        OrientGraph graph = factory.getTx();
+        try {
+            String query = String.format("SELECT EXPAND(%s) FROM %s", traversal, unpack(nativeId));
+            count = query(graph, query).size();
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean createRelationshipByNativeIds(long firstNativeId, long secondNativeId) {
+        boolean modified;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            Iterable<Edge> resultOne = graph.command(new OCommandSQL(String.format("CREATE EDGE Friend FROM %s TO %s", unpack(firstNativeId), unpack(secondNativeId)))).execute();
+            modified = resultOne.iterator().hasNext();
+            if (edgeModel.isDuplicated()) {
+                Iterable<Edge> resultTwo = graph.command(new OCommandSQL(String.format("CREATE EDGE Friend FROM %s TO %s", unpack(secondNativeId), unpack(firstNativeId)))).execute();
+                modified &= resultTwo.iterator().hasNext();
+            }
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return modified;
+    }
+
+    @Override
+    public boolean updateNodeByNativeId(long nativeId, String firstName, String lastName) {
+        int modified;
+
+        OrientBaseGraph graph = writeGraph();
+        try {
+            modified = graph.command(new OCommandSQL(String.format("UPDATE %s SET firstName = ?, lastName = ?", unpack(nativeId)))).execute(firstName, lastName);
+
+            graph.commit();
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        } finally {
+            graph.shutdown();
+        }
+
+        return modified > 0;
+    }
+
+    @Override
+    public long getStoreSize() {
+        long size;
+
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            size = graphNoTx.getRawGraph().getSize();
+        } finally {
+            graphNoTx.shutdown();
+        }
+
+        return size;
+    }
+
+    @Override
+    public long getIndexSize() {
+        long size = -1;
+
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            // only an embedded storage exposes its files; indexes live in the SB-tree and hash index files
+            OStorage storage = graphNoTx.getRawGraph().getStorage().getUnderlying();
+            if (storage instanceof OLocalPaginatedStorage) {
+                File[] files = new File(((OLocalPaginatedStorage) storage).getStoragePath()).listFiles();
+                if (files != null) {
+                    size = 0;
+                    for (File file : files) {
+                        for (String extension : INDEX_FILE_EXTENSIONS) {
+                            if (file.getName().endsWith(extension)) {
+                                size += file.length();
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            graphNoTx.shutdown();
+        }
+
+        return size;
+    }
+
+    @Override
+    public long countNodes() {
+        long count;
+
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            count = graphNoTx.countVertices("Person");
+        } finally {
+            graphNoTx.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public long countRelationships() {
+        long count;
+
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            if (edgeModel == EdgeModel.LIGHTWEIGHT) {
+                // lightweight edges have no records in the Friend class, each is counted once at its outgoing vertex
+                Iterable<Vertex> results = graphNoTx.command(new OCommandSQL("SELECT sum(out('Friend').size()) AS count FROM Person")).execute();
+                Iterator<Vertex> iterator = results.iterator();
+                Number sum = iterator.hasNext() ? iterator.next().<Number>getProperty("count") : null;
+                count = sum == null ? 0 : sum.longValue();
+            } else {
+                count = graphNoTx.countEdges("Friend");
+            }
+        } finally {
+            graphNoTx.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public void dropCaches() {
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            graphNoTx.getRawGraph().getMetadata().getCommandCache().clear();
+        } finally {
+            graphNoTx.shutdown();
+        }
+
+        // an embedded storage loses its disk cache when it is closed, a server keeps its cache regardless
+        factory.close();
+        Orient.instance().closeAllStorages();
+        open();
+    }
+
+    @Override
+    public void warmUp() {
+        OrientGraphNoTx graphNoTx = factory.getNoTx();
+        try {
+            graphNoTx.command(new OCommandSQL("SELECT count(*) FROM (SELECT EXPAND(OUT('Friend')) FROM Person)")).execute();
+            graphNoTx.command(new OCommandSQL("SELECT count(*) FROM Person WHERE nodeId >= 0")).execute();
+        } finally {
+            graphNoTx.shutdown();
+        }
+    }
+
+    @Override
+    public int findShortestPathLength(int sourceNodeId, int targetNodeId) {
+        Vertex source = findPersonByNodeId(sourceNodeId);
+        Vertex target = findPersonByNodeId(targetNodeId);
+        if (source == null || target == null) {
+            return -1;
+        }
+
+        int length = -1;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            String query = String.format("SELECT shortestPath(%s, %s, '%s', 'Friend') AS path", source.getId(), target.getId(), friendDirection().toUpperCase());
+            List<Vertex> results = query(graph, query);
+            if (!results.isEmpty()) {
+                Collection<?> path = results.get(0).getProperty("path");
+                length = path == null ? -1 : path.size() - 1;
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return length;
+    }
+
+    @Override
+    public int countReachableNodes(int nodeId, int depth) {
+        Vertex person = findPersonByNodeId(nodeId);
+        if (person == null) {
+            return 0;
+        }
+
+        int count = 0;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            String query = String.format("TRAVERSE %s('Friend') FROM %s MAXDEPTH %d STRATEGY BREADTH_FIRST", friendDirection(), person.getId(), depth);
+            for (Vertex vertex : this.<Vertex>query(graph, query)) {
+                if (!vertex.getId().equals(person.getId())) {
+                    count++;
+                }
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public long countTriangles() {
+        long count = 0;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            String query = String.format("MATCH {class: Person, as: a}.%1$s('Friend'){as: b, where: (nodeId > $matched.a.nodeId)}.%1$s('Friend'){as: c, where: (nodeId > $matched.b.nodeId)}.%1$s('Friend'){as: a} RETURN a, b, c", friendDirection());
+            count = query(graph, query).size();
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public int countConnectedComponents() {
+        int count = 0;
+
+        // every vertex not reached yet seeds a TRAVERSE over its whole component
+        Set<Object> visited = new HashSet<>();
+        OrientGraph graph = factory.getTx();
+        try {
+            for (Vertex seed : graph.getVerticesOfClass("Person")) {
+                if (visited.contains(seed.getId())) {
+                    continue;
+                }
+
+                count++;
+                String query = String.format("TRAVERSE both('Friend') FROM %s STRATEGY BREADTH_FIRST", seed.getId());
+                Iterable<Vertex> iterable = graph.command(new OCommandSQL(query)).execute();
+                for (Vertex vertex : iterable) {
+                    visited.add(vertex.getId());
+                }
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    @Override
+    public Map<Integer, Double> computePageRank(int iterations, double dampingFactor) {
+        // OrientDB has no server-side PageRank, so the adjacency is fetched in one query and ranked on the client
+        ReferenceGraph.Builder builder = new ReferenceGraph.Builder();
+
+        OrientGraph graph = factory.getTx();
+        try {
+            Iterable<Vertex> iterable = graph.command(new OCommandSQL(String.format("SELECT nodeId, %s('Friend').nodeId AS friends FROM Person", friendDirection()))).execute();
+            for (Vertex vertex : iterable) {
+                int nodeId = vertex.<Integer>getProperty("nodeId");
+                builder.addNode(nodeId);
+
+                Collection<Integer> friends = vertex.getProperty("friends");
+                if (friends != null) {
+                    for (Integer friend : friends) {
+                        builder.addArc(nodeId, friend);
+                    }
+                }
+            }
+        } finally {
+            graph.shutdown();
+        }
+
+        return builder.build().computePageRank(iterations, dampingFactor);
+    }
+
+    @Override
+    public int findFriendsInCircleWithFeature(int nodeId, String circleId, int featureId) {
+        String query = String.format("MATCH {class: Person, where: (nodeId = %d)}.%s('Friend'){as: friend, where: (features CONTAINS %d)}.out('Member'){class: Circle, where: (circleId = '%s')} RETURN friend", nodeId, friendDirection(), featureId, circleId);
+        return count(query);
+    }
+
+    @Override
+    public int countCircleMembersWithFeature(String circleId, int featureId) {
+        String query = String.format("SELECT FROM (SELECT EXPAND(in('Member')) FROM Circle WHERE circleId = '%s') WHERE features CONTAINS %d", circleId, featureId);
+        return count(query);
+    }
+
+    @Override
+    public int countNodesWithFeature(int featureId) {
+        return count(String.format("SELECT FROM Person WHERE features CONTAINS %d", featureId));
+    }
+
+    @Override
+    public PreparedQuery prepare(String query, List<String> parameterNames) {
+        String[] names = parameterNames.toArray(new String[0]);
+
+        // a command keeps the state of its last execution, so each thread reuses its own command and parameter map
+        ThreadLocal<OCommandSQL> commands = ThreadLocal.withInitial(() -> new OCommandSQL(query));
+        ThreadLocal<Map<String, Object>> parameterMaps = ThreadLocal.withInitial(HashMap::new);
+
+        return values -> {
+            Map<String, Object> parameters = parameterMaps.get();
+            for (int i = 0; i < names.length; i++) {
+                parameters.put(names[i], values[i]);
+            }
+
+            int count;
+            OrientGraph graph = factory.getTx();
+            try {
+                count = query(graph, commands.get(), parameters).size();
+            } finally {
+                graph.shutdown();
+            }
+
+            return count;
+        };
+    }
+
+    private int count(String query) {
+        int count;
+
+        OrientGraph graph = factory.getTx();
+        try {
+            count = query(graph, query).size();
+        } finally {
+            graph.shutdown();
+        }
+
+        return count;
+    }
+
+    private <T> List<T> query(OrientGraph graph, String query, Object... args) {
+        return query(graph, new OCommandSQL(query), args);
+    }
+
+    private <T> List<T> query(OrientGraph graph, OCommandSQL command, Object... args) {
+        String query = command.getText();
+        long start = System.nanoTime();
+        Iterable<T> iterable = graph.command(command).execute(args);
+        List<T> results = new ArrayList<>();
+        for (T result : iterable) {
+            results.add(result);
+        }
+        long driverNanos = System.nanoTime() - start;
+
+        ServerTimings.recordRequest(driverNanos, explain(graph, query, args));
+
+        return results;
+    }
+
+    /**
+     * OrientDB sends no execution statistics with query results, so the query is run once more with EXPLAIN, which
+     * reports the elapsed time, the reads on the server and the indexes involved. That happens while plans are
+     * captured, on the first invocation only, and for timings only when they are enabled with
+     * {@link ServerTimings#REEXECUTE_PROPERTY}, as it doubles the load of every invocation. The time spent on it is
+     * excluded from the measurement, but the second run finds the caches warm.
+     */
+    private long explain(OrientGraph graph, String query, Object... args) {
+        if (!ServerTimings.isCapturingReexecuted() && !QueryPlans.isCapturing()) {
+            return -1;
+        }
+
+        long start = System.nanoTime();
+        try {
+            ODocument plan = graph.getRawGraph().command(new OCommandSQL("EXPLAIN " + query)).execute(args);
+            for (String name : new String[]{"documentReads", "indexReads"}) {
+                Number value = plan.field(name);
+                if (value != null) {
+                    ServerTimings.recordStatistic(name, value.longValue());
+                }
+            }
+
+            Collection<?> involvedIndexes = plan.field("involvedIndexes");
+            boolean indexed = involvedIndexes != null && !involvedIndexes.isEmpty();
+            QueryPlans.record(query, String.format("indexes %s, sorted by index %s, result type %s",
+                    indexed ? involvedIndexes : "[]", plan.field("fullySortedByIndex"), plan.field("resultType")), indexed);
+
+            Number elapsed = plan.field("elapsed");
+            return elapsed == null ? -1 : (long) (elapsed.doubleValue() * 1e6);
+        } catch (RuntimeException e) {
+            // EXPLAIN supports SELECT statements only
+            return -1;
+        } finally {
+            // one EXPLAIN serves both captures, so its time is excluded only once
+            long overhead = System.nanoTime() - start;
+            if (ServerTimings.isCapturing()) {
+                ServerTimings.recordOverhead(overhead);
+            } else {
+                QueryPlans.recordOverhead(overhead);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Long> getOpenResources() {
+        // graphs taken from the pool and never shut down stay created but not available
+        Map<String, Long> resources = new LinkedHashMap<>();
+        resources.put("pooledGraphs", (long) factory.getCreatedInstancesInPool());
+        resources.put("pooledGraphsInUse", (long) (factory.getCreatedInstancesInPool() - factory.getAvailableInstancesInPool()));
+
+        return resources;
+    }
+
+    @Override
+    public void close() {
+        factory.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.graphdatabases.benchmark.workload;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PinningMonitor} on the {@code jdk.VirtualThreadPinned} flight recorder event, which only Java 21 and later
+ * emit. It lives in the source root the java21 profile adds and is loaded by name.
+ */
+public class JfrPinningMonitor implements PinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final long DELIVERY_MILLIS = 1500;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LongAdder pins = new LongAdder();
+    private final Map<String, LongAdder> frames = new ConcurrentHashMap<>();
+
+    public JfrPinningMonitor() {
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> {
+            pins.increment();
+            frames.computeIfAbsent(firstApplicationFrame(event.getStackTrace()), frame -> new LongAdder()).increment();
+        });
+        stream.startAsync();
+    }
+
+    private static String firstApplicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                    return String.format("%s.%s:%d", type, frame.getMethod().getName(), frame.getLineNumber());
+                }
+            }
+        }
+
+        return "unknown";
+    }
+
+    @Override
+    public long getPins() {
+        return pins.sum();
+    }
+
+    @Override
+    public Map<String, Long> getFrames() {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        frames.entrySet().stream()
+                .sorted((first, second) -> Long.compare(second.getValue().sum(), first.getValue().sum()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue().sum()));
+
+        return sorted;
+    }
+
+    @Override
+    public void close() {
+        // the recorder hands events to streams about once a second, so the last ones need time to arrive
+        try {
+            Thread.sleep(DELIVERY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stream.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.graphdatabases.benchmark.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One measured invocation of a benchmark method. The event spans the timed call, so flight recorder tools can line
+ * it up with garbage collections, safepoints, lock contention and driver threads; the latency field holds the time
+ * the harness actually recorded, which excludes requests made only to obtain server timings.
+ */
+@Name("com.graphdatabases.benchmark.Invocation")
+@Label("Benchmark Invocation")
+@Category("Graph Database Benchmark")
+@StackTrace(false)
+public class InvocationEvent extends Event implements FlightRecorder.Invocation {
+
+    @Label("Test")
+    @Description("Benchmark test, prefixed with the engine name")
+    public String test;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Iteration")
+    public int iteration;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long latency;
+
+    @Label("Rows")
+    @Description("Rows, nodes or count returned by the benchmark method, -1 when it returns none")
+    public long rows;
+
+    @Override
+    public void commit(String test, String method, int iteration, long latency, long rows) {
+        if (shouldCommit()) {
+            this.test = test;
+            this.method = method;
+            this.iteration = iteration;
+            this.latency = latency;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
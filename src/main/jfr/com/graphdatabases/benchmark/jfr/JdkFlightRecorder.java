@@ -0,0 +1,41 @@
+package com.graphdatabases.benchmark.jfr;
+
+import com.graphdatabases.benchmark.exception.BenchmarkException;
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+public class JdkFlightRecorder implements FlightRecorder {
+
+    @Override
+    public Recording startRecording(String directory, String testName) {
+        Path file = Paths.get(directory, testName.replaceAll("[^A-Za-z0-9._-]+", "_") + ".jfr");
+        try {
+            Files.createDirectories(file.getParent());
+            jdk.jfr.Recording recording = new jdk.jfr.Recording(Configuration.getConfiguration("profile"));
+            recording.setName(testName);
+            recording.setDestination(file);
+            recording.start();
+
+            return () -> {
+                recording.stop();
+                System.out.println(String.format("Flight recording written to %s.", recording.getDestination()));
+                recording.close();
+            };
+        } catch (IOException | ParseException e) {
+            throw new BenchmarkException(String.format("Failed to start flight recording to %s.", file), e);
+        }
+    }
+
+    @Override
+    public Invocation beginInvocation() {
+        InvocationEvent event = new InvocationEvent();
+        event.begin();
+
+        return event;
+    }
+}